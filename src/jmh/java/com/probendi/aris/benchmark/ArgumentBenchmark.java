@@ -0,0 +1,94 @@
+package com.probendi.aris.benchmark;
+
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.formula.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the validation of an argument and the assertion of a tautology by means of a truth table.
+ * <p>
+ * The argument is valid and the formula is a tautology, hence the whole truth table is always enumerated.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ArgumentBenchmark {
+
+    @Param({"4", "8", "16"})
+    private int atoms;
+
+    @Param({"2", "3", "4"})
+    private int depth;
+
+    private Argument argument;
+    private Argument tautology;
+
+    /**
+     * Generates the arguments.
+     */
+    @Setup
+    public void setUp() {
+        final Random random = Fixtures.random();
+        final List<AtomicCondition> list = Fixtures.atoms(atoms);
+        argument = valid(random, list, depth);
+        tautology = tautology(random, list, depth);
+    }
+
+    /**
+     * Validates the argument.
+     *
+     * @return {@code true}
+     * @throws ArisException if a symbol has no value
+     */
+    @Benchmark
+    public boolean isValid() throws ArisException {
+        return argument.isValid();
+    }
+
+    /**
+     * Asserts that the formula is a tautology.
+     *
+     * @return {@code true}
+     */
+    @Benchmark
+    public boolean isTautology() {
+        return tautology.isTautology();
+    }
+
+    /**
+     * Returns a random valid argument, whose conclusion is the disjunction of the first premise and another formula.
+     *
+     * @param random the random number generator
+     * @param atoms  the atoms
+     * @param depth  the depth of the formulae
+     * @return the argument
+     */
+    static Argument valid(final Random random, final List<AtomicCondition> atoms, final int depth) {
+        final WellFormedFormula premise = Fixtures.formula(random, atoms, depth);
+        final WellFormedFormula conclusion = new Disjunction(premise, Fixtures.formula(random, atoms, depth));
+        return new Argument(conclusion, premise, Fixtures.formula(random, atoms, depth));
+    }
+
+    /**
+     * Returns a random tautology, i.e., the disjunction of a formula and its negation.
+     *
+     * @param random the random number generator
+     * @param atoms  the atoms
+     * @param depth  the depth of the formula
+     * @return the argument made of the tautology
+     */
+    static Argument tautology(final Random random, final List<AtomicCondition> atoms, final int depth) {
+        final WellFormedFormula wff = Fixtures.formula(random, atoms, depth);
+        final Argument argument = new Argument();
+        argument.addPremise(new Disjunction(wff, new Negation(wff)));
+        return argument;
+    }
+}
@@ -0,0 +1,75 @@
+package com.probendi.aris.benchmark;
+
+import com.probendi.aris.engine.DecisionProcedure;
+import com.probendi.aris.engine.Engine;
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.formula.Argument;
+import com.probendi.aris.formula.AtomicCondition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the decision engines on the arguments of {@link ArgumentBenchmark}.
+ * <p>
+ * Every trial creates a new decision procedure, which is then reused by all the invocations as the interpreter does,
+ * hence the engines which share state between calls, e.g., the BDD engine, are measured warm.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class EngineBenchmark {
+
+    @Param({"truth-table", "parallel", "sat", "bdd", "gray-code", "dpll", "tableau"})
+    private String engine;
+
+    @Param({"8", "16"})
+    private int atoms;
+
+    @Param({"3", "4"})
+    private int depth;
+
+    private DecisionProcedure procedure;
+    private Argument argument;
+    private Argument tautology;
+
+    /**
+     * Creates the decision procedure and generates the arguments.
+     */
+    @Setup
+    public void setUp() {
+        procedure = Engine.of(engine).create();
+        final Random random = Fixtures.random();
+        final List<AtomicCondition> list = Fixtures.atoms(atoms);
+        argument = ArgumentBenchmark.valid(random, list, depth);
+        tautology = ArgumentBenchmark.tautology(random, list, depth);
+    }
+
+    /**
+     * Validates the argument.
+     *
+     * @return {@code true}
+     * @throws ArisException if a symbol has no value
+     */
+    @Benchmark
+    public boolean isValid() throws ArisException {
+        return procedure.isValid(argument);
+    }
+
+    /**
+     * Asserts that the formula is a tautology.
+     *
+     * @return {@code true}
+     * @throws ArisException if a symbol has no value
+     */
+    @Benchmark
+    public boolean isTautology() throws ArisException {
+        return procedure.isTautology(tautology);
+    }
+}
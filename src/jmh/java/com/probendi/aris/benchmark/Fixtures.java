@@ -0,0 +1,119 @@
+package com.probendi.aris.benchmark;
+
+import com.probendi.aris.LexicalAnalyzer;
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.formula.*;
+import com.probendi.aris.token.Token;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The fixtures shared by the benchmarks.
+ * <p>
+ * The random formulae are generated from a fixed seed, so that different runs measure the same formulae.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+final class Fixtures {
+
+    /**
+     * The script used as a fixture, which is read from the working directory.
+     */
+    static final String SCRIPT = "test.txt";
+
+    private static final long SEED = 42;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Returns a new random number generator.
+     *
+     * @return a new random number generator, created from a fixed seed
+     */
+    static Random random() {
+        return new Random(SEED);
+    }
+
+    /**
+     * Returns the given number of copies of the fixture script.
+     *
+     * @param copies the number of copies
+     * @return the script
+     * @throws IOException if the script cannot be read
+     */
+    static String script(final int copies) throws IOException {
+        final String script = Files.readString(Path.of(SCRIPT));
+        return (script.endsWith("\n") ? script : script + "\n").repeat(copies);
+    }
+
+    /**
+     * Returns the atoms {@code P1}, ..., {@code Pn}, indexed as if they were added to a symbol table in order.
+     *
+     * @param n the number of atoms
+     * @return the atoms
+     */
+    static List<AtomicCondition> atoms(final int n) {
+        final List<AtomicCondition> atoms = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            atoms.add(new AtomicCondition("P" + i, i - 1));
+        }
+        return atoms;
+    }
+
+    /**
+     * Returns a random valuation of the given atoms.
+     *
+     * @param random the random number generator
+     * @param atoms  the atoms
+     * @return the valuation
+     */
+    static Map<String, Boolean> values(final Random random, final List<AtomicCondition> atoms) {
+        final Map<String, Boolean> values = new HashMap<>();
+        for (final AtomicCondition atom : atoms) {
+            values.put(atom.getValue(), random.nextBoolean());
+        }
+        return values;
+    }
+
+    /**
+     * Returns a random formula of the given depth, whose binary subformulae all have the same depth.
+     *
+     * @param random the random number generator
+     * @param atoms  the atoms
+     * @param depth  the depth
+     * @return the formula
+     */
+    static WellFormedFormula formula(final Random random, final List<AtomicCondition> atoms, final int depth) {
+        if (depth == 0) {
+            return atoms.get(random.nextInt(atoms.size()));
+        }
+        return switch (random.nextInt(4)) {
+            case 0 -> new Negation(formula(random, atoms, depth - 1));
+            case 1 -> new Conjunction(formula(random, atoms, depth - 1), formula(random, atoms, depth - 1));
+            case 2 -> new Disjunction(formula(random, atoms, depth - 1), formula(random, atoms, depth - 1));
+            default -> new Conditional(formula(random, atoms, depth - 1), formula(random, atoms, depth - 1));
+        };
+    }
+
+    /**
+     * Returns the tokens of the given formula.
+     *
+     * @param wff the formula
+     * @return the tokens
+     * @throws ArisException if the formula cannot be tokenized
+     */
+    static Queue<Token> tokens(final WellFormedFormula wff) throws ArisException {
+        final LexicalAnalyzer lexer = new LexicalAnalyzer(new StringReader("argument a := " + wff));
+        final Queue<Token> tokens = lexer.next();
+        // skips argument a :=
+        for (int i = 0; i < 3; i++) {
+            tokens.remove();
+        }
+        return tokens;
+    }
+}
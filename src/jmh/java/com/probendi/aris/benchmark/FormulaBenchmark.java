@@ -0,0 +1,103 @@
+package com.probendi.aris.benchmark;
+
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.formula.*;
+import com.probendi.aris.token.Token;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing, the valuation and the incremental re-valuation of random formulae.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class FormulaBenchmark {
+
+    @Param({"4", "16", "64"})
+    private int atoms;
+
+    @Param({"4", "8", "12"})
+    private int depth;
+
+    private Queue<Token> tokens;
+    private Argument argument;
+    private Map<String, Boolean> values;
+    private Valuation valuation;
+    private FormulaNetwork network;
+    private String atom;
+
+    /**
+     * Generates the formulae.
+     *
+     * @throws ArisException if a formula cannot be tokenized
+     */
+    @Setup
+    public void setUp() throws ArisException {
+        final Random random = Fixtures.random();
+        final List<AtomicCondition> list = Fixtures.atoms(atoms);
+        final WellFormedFormula wff = Fixtures.formula(random, list, depth);
+        tokens = Fixtures.tokens(wff);
+        argument = new Argument(Fixtures.formula(random, list, depth), wff, Fixtures.formula(random, list, depth));
+        values = Fixtures.values(random, list);
+        valuation = new Valuation(new SymbolTable());
+        for (final AtomicCondition atom : list) {
+            valuation.set(atom.getValue(), values.get(atom.getValue()));
+        }
+        final List<WellFormedFormula> formulae = new ArrayList<>(argument.getPremises());
+        formulae.add(argument.getConclusion());
+        network = new FormulaNetwork(formulae);
+        atom = list.get(0).getValue();
+    }
+
+    /**
+     * Parses the formula, whose tokens are copied beforehand, for parsing consumes them.
+     *
+     * @return the formula
+     * @throws ArisException if the formula cannot be parsed
+     */
+    @Benchmark
+    public WellFormedFormula parse() throws ArisException {
+        return WellFormedFormula.parse(new LinkedList<>(tokens));
+    }
+
+    /**
+     * Valuates an argument made of two premises and a conclusion.
+     *
+     * @return the argument's truth-value
+     * @throws ArisException if a symbol has no value
+     */
+    @Benchmark
+    public boolean valuate() throws ArisException {
+        return argument.valuate(values);
+    }
+
+    /**
+     * Valuates an argument made of two premises and a conclusion against a compact valuation.
+     *
+     * @return the argument's truth-value
+     * @throws ArisException if a symbol has no value
+     */
+    @Benchmark
+    public boolean valuateCompact() throws ArisException {
+        return argument.valuate(valuation);
+    }
+
+    /**
+     * Re-valuates the same argument, lowered to a network, after flipping the value of a single atom.
+     *
+     * @return the argument's truth-value
+     * @throws ArisException if a symbol has no value
+     */
+    @Benchmark
+    public boolean revaluate() throws ArisException {
+        values.put(atom, !values.get(atom));
+        return network.valuate(values);
+    }
+}
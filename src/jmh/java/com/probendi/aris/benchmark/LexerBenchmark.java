@@ -0,0 +1,84 @@
+package com.probendi.aris.benchmark;
+
+import com.probendi.aris.LexicalAnalyzer;
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.token.Token;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the tokenization of scripts made of copies of the fixture script.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class LexerBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int copies;
+
+    private String script;
+    private ByteBuffer bytes;
+
+    /**
+     * Reads the script, which is also copied into a direct buffer, as if it were mapped into memory.
+     *
+     * @throws IOException if the fixture script cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        script = Fixtures.script(copies);
+        final byte[] array = script.getBytes(StandardCharsets.UTF_8);
+        bytes = ByteBuffer.allocateDirect(array.length).put(array).flip();
+    }
+
+    /**
+     * Tokenizes the whole script.
+     *
+     * @return the tokens
+     * @throws ArisException if the script cannot be tokenized
+     */
+    @Benchmark
+    public Queue<Queue<Token>> tokenize() throws ArisException {
+        final LexicalAnalyzer lexer = new LexicalAnalyzer(new StringReader(script));
+        lexer.tokenize();
+        return lexer.getTokens();
+    }
+
+    /**
+     * Tokenizes the whole script by scanning its UTF-8 bytes.
+     *
+     * @return the tokens
+     * @throws ArisException if the script cannot be tokenized
+     */
+    @Benchmark
+    public Queue<Queue<Token>> tokenizeMapped() throws ArisException {
+        final LexicalAnalyzer lexer = new LexicalAnalyzer(bytes.duplicate());
+        lexer.tokenize();
+        return lexer.getTokens();
+    }
+
+    /**
+     * Tokenizes the whole script by scanning chunks of its UTF-8 bytes concurrently on the common pool.
+     *
+     * @return the tokens
+     * @throws ArisException if the script cannot be tokenized
+     */
+    @Benchmark
+    public Queue<Queue<Token>> tokenizeParallel() throws ArisException {
+        final LexicalAnalyzer lexer = new LexicalAnalyzer(bytes.duplicate());
+        lexer.tokenize(ForkJoinPool.commonPool());
+        return lexer.getTokens();
+    }
+}
@@ -1,11 +1,18 @@
 package com.probendi.aris;
 
+import com.probendi.aris.engine.CachingProcedure;
+import com.probendi.aris.engine.DecisionProcedure;
+import com.probendi.aris.engine.Engine;
+import com.probendi.aris.engine.ParallelTruthTableProcedure;
+import com.probendi.aris.engine.TruthTableProcedure;
 import com.probendi.aris.exception.ArisException;
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.Reader;
-import java.nio.file.Files;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * {@code Aris} is a propositional logic interpreter.
@@ -14,7 +21,7 @@ import java.nio.file.Path;
  */
 public class Aris {
 
-    private static final String USAGE = "Usage: java -jar aris-pl-1.0.jar file";
+    private static final String USAGE = "Usage: java -jar aris-pl-1.0.jar [-engine truth-table|parallel|sat|bdd|gray-code|dpll|tableau] [-parallelism n] [-parallel-lexer] [-parallel-interpreter] [-compile] [-cache file] file|-server port|-stdio|-repl";
 
     /**
      * Runs {@code aris-pl}.
@@ -22,16 +29,116 @@ public class Aris {
      * @param args the command line argument
      */
     public static void main(final String[] args) {
-        if (args.length != 1) {
+        Engine engine = Engine.TRUTH_TABLE;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        boolean parallelLexer = false;
+        boolean parallelInterpreter = false;
+        boolean compile = false;
+        String cache = null;
+        String file = null;
+        int port = -1;
+        boolean stdio = false;
+        boolean repl = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if ("-engine".equals(args[i]) && i + 1 < args.length) {
+                    engine = Engine.of(args[++i]);
+                } else if ("-parallelism".equals(args[i]) && i + 1 < args.length) {
+                    parallelism = Integer.parseInt(args[++i]);
+                    if (parallelism <= 0) {
+                        throw new IllegalArgumentException(args[i]);
+                    }
+                } else if ("-cache".equals(args[i]) && i + 1 < args.length) {
+                    cache = args[++i];
+                } else if ("-server".equals(args[i]) && i + 1 < args.length) {
+                    port = Integer.parseInt(args[++i]);
+                    if (port < 0 || port > 0xffff) {
+                        throw new IllegalArgumentException(args[i]);
+                    }
+                } else if ("-stdio".equals(args[i])) {
+                    stdio = true;
+                } else if ("-repl".equals(args[i])) {
+                    repl = true;
+                } else if ("-parallel-lexer".equals(args[i])) {
+                    parallelLexer = true;
+                } else if ("-parallel-interpreter".equals(args[i])) {
+                    parallelInterpreter = true;
+                } else if ("-compile".equals(args[i])) {
+                    compile = true;
+                } else if (file == null) {
+                    file = args[i];
+                } else {
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+            if ((file != null ? 1 : 0) + (port >= 0 ? 1 : 0) + (stdio ? 1 : 0) + (repl ? 1 : 0) != 1) {
+                throw new IllegalArgumentException();
+            }
+        } catch (final IllegalArgumentException e) {
+            file = null;
+            port = -1;
+            stdio = false;
+            repl = false;
+        }
+        if (file == null && port < 0 && !stdio && !repl) {
             System.out.println(USAGE);
+            return;
         }
-        try (final Reader reader = Files.newBufferedReader(Path.of(args[0]))) {
-            final LexicalAnalyzer lexer = new LexicalAnalyzer(reader);
-            lexer.tokenize();
-            final Parser parser = new Parser();
-            parser.parse(lexer.getTokens());
-        } catch (final ArisException | IOException e) {
-            e.printStackTrace();
+
+        // the parallel engine, lexer and interpreter share the same pool
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // the formulae of the truth-table engines and of the valuated arguments are translated into bytecode
+            final DecisionProcedure engineProcedure = switch (engine) {
+                case TRUTH_TABLE -> new TruthTableProcedure(compile);
+                case PARALLEL -> new ParallelTruthTableProcedure(pool, compile);
+                default -> engine.create();
+            };
+            if (file == null) {
+                // the sessions share the engine and the cache, but each has its own arguments and values
+                try (final CachingProcedure procedure = cache == null ?
+                        new CachingProcedure(engineProcedure, CachingProcedure.DEFAULT_CAPACITY) :
+                        new CachingProcedure(engineProcedure, CachingProcedure.DEFAULT_CAPACITY, Path.of(cache))) {
+                    if (repl || stdio) {
+                        final Session session = new Session(procedure);
+                        session.getParser().setBytecode(compile);
+                        final BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+                        if (repl) {
+                            new Repl(session, in, System.out).run();
+                        } else {
+                            Server.serve(session, in, System.out);
+                        }
+                    } else {
+                        try (final Server server = new Server(port, procedure, compile)) {
+                            System.out.println("Listening on port " + server.getPort());
+                            server.run();
+                        }
+                    }
+                } catch (final IOException e) {
+                    e.printStackTrace();
+                }
+                return;
+            }
+            // the file is mapped into memory, and every line is interpreted as soon as it has been tokenized
+            // the results are cached by the arguments' canonical form, and persisted to the cache file, if any
+            try (final LexicalAnalyzer lexer = LexicalAnalyzer.open(Path.of(file));
+                 final CachingProcedure procedure = cache == null ?
+                         new CachingProcedure(engineProcedure, CachingProcedure.DEFAULT_CAPACITY) :
+                         new CachingProcedure(engineProcedure, CachingProcedure.DEFAULT_CAPACITY, Path.of(cache))) {
+                final Parser parser = parallelInterpreter ? new Parser(procedure, pool) : new Parser(procedure);
+                parser.setBytecode(compile);
+                if (parallelLexer) {
+                    // the whole file is tokenized before any line is interpreted
+                    lexer.tokenize(pool);
+                    parser.parse(lexer.getTokens());
+                } else {
+                    parser.parse(lexer);
+                }
+            } catch (final ArisException | IOException e) {
+                e.printStackTrace();
+            }
+        } finally {
+            pool.shutdown();
         }
     }
 }
@@ -4,62 +4,150 @@ import com.probendi.aris.exception.*;
 import com.probendi.aris.token.*;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Map;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * {@code LexicalAnalyzer} lexically analyses the input data and produces a list of tokens.
  * <p>
  * {@code @Copyright}, 2023 Daniele Di Salvo
  */
-public class LexicalAnalyzer {
+public class LexicalAnalyzer implements Closeable {
 
     private static final String UNEXPECTED_CHARACTER = "Unexpected character '%c' at position %d of line '%s'";
     private static final String UNEXPECTED_END_OF_LINE = "Unexpected end of line at line '%s'";
     private static final String UNEXPECTED_SYMBOL = "Unexpected symbol '%s' at position %d of line '%s'";
 
-    // associate a single character to a token
-    private static final Map<Character, Class<? extends Token>> oneCharacterTokenMap = new HashMap<>();
+    // the stateless tokens, which are shared by all lines
+    private static final Token AND = new And();
+    private static final Token ARGUMENT = new Argument();
+    private static final Token ASSERT = new Assert();
+    private static final Token ASSIGN = new Assign();
+    private static final Token COMMA = new Comma();
+    private static final Token COUNTEREXAMPLE = new Counterexample();
+    private static final Token FALSE = new False();
+    private static final Token L_BRACKET = new LBracket();
+    private static final Token MATERIAL_IMPLICATION = new MaterialImplication();
+    private static final Token NOT = new Not();
+    private static final Token OR = new Or();
+    private static final Token PRINT = new Print();
+    private static final Token R_BRACKET = new RBracket();
+    private static final Token THEREFORE = new Therefore();
+    private static final Token TRUE = new True();
+    private static final Token VALIDATE = new Validate();
+    private static final Token VALUATE = new Valuate();
+
+    // the classes of the ASCII characters
+    private static final int ASCII = 128;
+    private static final int BLANK = 1;
+    private static final int ATOM_PART = 2;
+    private static final int ATOM_END = 4;
+    private static final int IDENTIFIER_PART = 8;
+    private static final byte[] classes = new byte[ASCII];
+
+    // associate a single ASCII character to a token
+    private static final Token[] symbols = new Token[ASCII];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) {
+            classes[c] = ATOM_PART;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            classes[c] = IDENTIFIER_PART;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            classes[c] = ATOM_PART | IDENTIFIER_PART;
+        }
+        classes['_'] = ATOM_PART | IDENTIFIER_PART;
+        classes['\''] = ATOM_PART;
+        classes[' '] = BLANK | ATOM_END;
+        classes['\t'] = BLANK | ATOM_END;
+        for (final char c : "&),:-|".toCharArray()) {
+            classes[c] = ATOM_END;
+        }
+
+        symbols['('] = L_BRACKET;
+        symbols[')'] = R_BRACKET;
+        symbols['&'] = AND;
+        symbols[','] = COMMA;
+        symbols['~'] = NOT;
+        symbols['!'] = NOT;
+        symbols['|'] = OR;
+    }
+
+    // the kinds of tokens which can start a statement, besides an atom
+    private static final long STATEMENTS = 1L << TokenKind.ARGUMENT.ordinal() | 1L << TokenKind.ASSERT.ordinal() |
+            1L << TokenKind.COUNTEREXAMPLE.ordinal() | 1L << TokenKind.PRINT.ordinal() |
+            1L << TokenKind.VALIDATE.ordinal() | 1L << TokenKind.VALUATE.ordinal();
+
+    // the keywords, none of which is a prefix of another one
+    private static final String[] keywords = {
+            "argument", "assert", "counterexample", "false", "print", "therefore", "true", "validate", "valuate"
+    };
+    private static final Token[] keywordTokens = {
+            ARGUMENT, ASSERT, COUNTEREXAMPLE, FALSE, PRINT, THEREFORE, TRUE, VALIDATE, VALUATE
+    };
+
+    // the keywords which can occur only once per line, i.e., argument, print, therefore and valuate
+    private static final int UNIQUE_KEYWORDS = 1 | 1 << 4 | 1 << 5 | 1 << 8;
+
+    // a trie of the keywords, whose nodes have a child for every lowercase letter; 0 means no child, for the root
+    // cannot be a child, and every node is mapped to the index of the keyword ending there, or -1
+    private static final int[][] trie;
+    private static final int[] accepted;
 
     static {
-        oneCharacterTokenMap.put('(', LBracket.class);
-        oneCharacterTokenMap.put(')', RBracket.class);
-        oneCharacterTokenMap.put('∧', And.class);
-        oneCharacterTokenMap.put('&', And.class);
-        oneCharacterTokenMap.put(',', Comma.class);
-        oneCharacterTokenMap.put('→', MaterialImplication.class);
-        oneCharacterTokenMap.put('⊃', MaterialImplication.class);
-        oneCharacterTokenMap.put('¬', Not.class);
-        oneCharacterTokenMap.put('~', Not.class);
-        oneCharacterTokenMap.put('!', Not.class);
-        oneCharacterTokenMap.put('∨', Or.class);
-        oneCharacterTokenMap.put('|', Or.class);
-        oneCharacterTokenMap.put('∴', Therefore.class);
-    }
-
-    // associate a two characters sequence to a token, e.g. := to the assign token
-    private static final Map<Character, Map<Character, Class<? extends Token>>> twoCharactersTokenMap = Map.of(
-            ':', Map.of('=', Assign.class),
-            '-', Map.of('>', MaterialImplication.class)
-    );
-
-    // associate a keyword to a token
-    private static final Map<String, Class<? extends Token>> keywords = Map.of(
-            "argument", Argument.class,
-            "assert", Assert.class,
-            "false", False.class,
-            "print", Print.class,
-            "therefore", Therefore.class,
-            "true", True.class,
-            "validate", Validate.class,
-            "valuate", Valuate.class
-    );
-
-    private final Reader reader;
+        final List<int[]> nodes = new ArrayList<>();
+        final List<Integer> ends = new ArrayList<>();
+        nodes.add(new int[26]);
+        ends.add(-1);
+        for (int k = 0; k < keywords.length; k++) {
+            int node = 0;
+            for (final char c : keywords[k].toCharArray()) {
+                if (nodes.get(node)[c - 'a'] == 0) {
+                    nodes.get(node)[c - 'a'] = nodes.size();
+                    nodes.add(new int[26]);
+                    ends.add(-1);
+                }
+                node = nodes.get(node)[c - 'a'];
+            }
+            ends.set(node, k);
+        }
+        trie = nodes.toArray(new int[0][]);
+        accepted = ends.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // the minimum sizes of the chunks which are tokenized concurrently, in bytes and in lines
+    private static final int MIN_CHUNK_BYTES = 1 << 16;
+    private static final int MIN_CHUNK_LINES = 1 << 10;
+
+    // the maximum number of atoms and identifiers which are interned before the table is cleared
+    private static final int MAX_INTERNED = 1 << 16;
+
+    private final BufferedReader reader;
+    private final ByteBuffer buffer;
+    private final CharsetDecoder decoder;
+    private int position;
+
+    // the interned atoms and identifiers of the mapped input, in an open addressing table
+    private Token[] interned;
+    private int internedCount;
 
     private final Queue<Queue<Token>> tokens = new LinkedList<>();
 
@@ -73,7 +161,53 @@ public class LexicalAnalyzer {
         if (reader == null) {
             throw new IllegalArgumentException("reader cannot be null");
         }
-        this.reader = reader;
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        buffer = null;
+        decoder = null;
+    }
+
+    /**
+     * Creates a new lexical analyzer for the given UTF-8 encoded input.
+     * <p>
+     * The bytes are scanned directly, without decoding the lines, and the atoms and identifiers are interned, so that
+     * the lines which contain no string allocate only their tokens' queue. A line which contains an error is decoded
+     * and scanned again, in order to report the error as the input reader does.
+     *
+     * @param buffer the input, from its position to its limit
+     * @throws IllegalArgumentException if buffer is {@code null}
+     */
+    public LexicalAnalyzer(final ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("buffer cannot be null");
+        }
+        reader = null;
+        this.buffer = buffer;
+        decoder = StandardCharsets.UTF_8.newDecoder();
+        position = buffer.position();
+        interned = new Token[64];
+    }
+
+    /**
+     * Creates a new lexical analyzer for the given UTF-8 encoded file, which is mapped into memory unless it is larger
+     * than 2 GB.
+     *
+     * @param path the file's path
+     * @return the lexical analyzer
+     * @throws IllegalArgumentException if path is {@code null}
+     * @throws IOException              if the file cannot be opened
+     */
+    public static LexicalAnalyzer open(final Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping remains valid after the channel is closed
+            final long size = channel.size();
+            if (size <= Integer.MAX_VALUE) {
+                return new LexicalAnalyzer(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+        }
+        return new LexicalAnalyzer(Files.newBufferedReader(path));
     }
 
     /**
@@ -87,159 +221,580 @@ public class LexicalAnalyzer {
 
     /**
      * Tokenizes the lines read from the given input reader.
+     * <p>
+     * The whole input is tokenized at once, and the input reader, if any, is closed.
      *
      * @throws ArisException if an error occurs
      */
     public void tokenize() throws ArisException {
-        String line;
-        try (final BufferedReader br = new BufferedReader(reader)) {
-            while ((line = br.readLine()) != null) {
-                final Map<String, Boolean> counts = new HashMap<>();
-                boolean inAtom = false;
-                boolean inIdentifier = false;
-                boolean inString = false;
-                StringBuilder sb = new StringBuilder();
-
-                final int n = line.indexOf("//");
-                final String str = n != -1 ? line.substring(0, n) : line;
-                final Queue<Token> queue = new LinkedList<>();
-
-                for (int i = 0; i < str.length(); i++) {
-                    final char c = str.charAt(i);
-
-                    // first we deal with some special cases
-                    if (inAtom) {
-                        if (c == ' ' || c == '\t' || c == '&' || c == ')' || c == ',' || c == ':' || c == '-' || c == '|') {
-                            queue.add(new Atom(sb.toString()));
-                            inAtom = false;
-                        } else if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '\'') {
-                            sb.append(c);
-                            continue;
-                        } else {
-                            throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, c, i, line));
-                        }
-                    }
+        try (reader) {
+            Queue<Token> line;
+            while ((line = next()) != null) {
+                tokens.add(line);
+            }
+        } catch (final IOException e) {
+            throw new LexicalAnalyzerIOException(e);
+        }
+    }
 
-                    if (inIdentifier) {
-                        if (c == ' ' || c == '\t') {
-                            queue.add(new Identifier(sb.toString()));
-                            inIdentifier = false;
-                        } else if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '_') {
-                            sb.append(c);
-                            continue;
-                        } else {
-                            throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, c, i, line));
+    /**
+     * Tokenizes the lines read from the given input concurrently on the given pool.
+     * <p>
+     * The input is split at line boundaries into chunks, which are tokenized independently, and their lines are then
+     * appended to the tokens in order. If several lines contain an error, the error of the first one is thrown, as by
+     * {@link #tokenize()}. Unless the input is mapped, it is read into memory as a whole, and the input reader is
+     * closed.
+     *
+     * @param pool the pool
+     * @throws ArisException if an error occurs
+     */
+    public void tokenize(final ForkJoinPool pool) throws ArisException {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+        final List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+        if (buffer != null) {
+            final int limit = buffer.limit();
+            final int size = Math.max(MIN_CHUNK_BYTES, (limit - position) / (4 * pool.getParallelism()) + 1);
+            while (position < limit) {
+                // every chunk ends after a line feed, hence a CR LF pair is never split
+                final int start = position;
+                position = (int) Math.min(limit, (long) start + size);
+                while (position < limit && buffer.get(position - 1) != '\n') position++;
+                final LexicalAnalyzer lexer = new LexicalAnalyzer(buffer.slice(start, position - start));
+                tasks.add(pool.submit(() -> {
+                    final List<Queue<Token>> lines = new ArrayList<>();
+                    try {
+                        Queue<Token> line;
+                        while ((line = lexer.next()) != null) {
+                            lines.add(line);
                         }
+                        return new Chunk(lines, null);
+                    } catch (final ArisException e) {
+                        return new Chunk(lines, e);
                     }
-
-                    if (inString) {
-                        if (c == '"') {
-                            queue.add(new TString(sb.toString()));
-                            inString = false;
-                        } else {
-                            if (i == str.length() - 1) {
-                                throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, c, i, line));
+                }));
+            }
+        } else {
+            final List<String> lines = new ArrayList<>();
+            try (reader) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } catch (final IOException e) {
+                throw new LexicalAnalyzerIOException(e);
+            }
+            final int size = Math.max(MIN_CHUNK_LINES, lines.size() / (4 * pool.getParallelism()) + 1);
+            for (int start = 0; start < lines.size(); start += size) {
+                final List<String> chunk = lines.subList(start, Math.min(lines.size(), start + size));
+                tasks.add(pool.submit(() -> {
+                    final List<Queue<Token>> queues = new ArrayList<>(chunk.size());
+                    try {
+                        for (final String line : chunk) {
+                            final Queue<Token> queue = tokenize(line);
+                            if (!queue.isEmpty()) {
+                                queues.add(queue);
                             }
-                            sb.append(c);
                         }
-                        continue;
+                        return new Chunk(queues, null);
+                    } catch (final ArisException e) {
+                        return new Chunk(queues, e);
                     }
+                }));
+            }
+        }
 
-                    // spaces are ignored except when parsing a string
-                    if (c == ' ' || c == '\t') continue;
-
-                    if (c == '"') {
-                        inString = true;
-                        sb = new StringBuilder();
-                    } else if (oneCharacterTokenMap.containsKey(c)) {
-                        queue.add(oneCharacterTokenMap.get(c).getDeclaredConstructor().newInstance());
-                    } else if (twoCharactersTokenMap.containsKey(c)) {
-                        try {
-                            final char nc = str.charAt(++i);
-                            if (twoCharactersTokenMap.get(c).containsKey(nc)) {
-                                queue.add(twoCharactersTokenMap.get(c).get(nc).getDeclaredConstructor().newInstance());
-                            } else {
-                                throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, nc, i, line));
-                            }
-                        } catch (final IndexOutOfBoundsException e) {
-                            throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, c, i - 1, line));
-                        }
-                    } else if (c >= 'A' && c <= 'Z') {
-                        inAtom = true;
-                        sb = new StringBuilder(String.valueOf(c));
-                    } else if (c >= 'a' && c <= 'z') {
-                        // search for a keyword
-                        boolean found = false;
-                        final String s = str.substring(i);
-                        for (final String k : keywords.keySet()) {
-                            if (s.startsWith(k)) {
-                                queue.add(keywords.get(k).getDeclaredConstructor().newInstance());
-                                i += k.length();
-                                if (i < str.length() && str.charAt(i) != ' ' && str.charAt(i) != '\t') {
-                                    throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, str.charAt(i), i, line));
-                                }
-
-                                if ("argument".equals(k) || "print".equals(k) || "therefore".equals(k) || "valuate".equals(k)) {
-                                    if (counts.containsKey(k)) {  // there can be only one symbol per line
-                                        throw new UnexpectedSymbolException(String.format(UNEXPECTED_SYMBOL, k, i - k.length(), line));
-                                    } else {
-                                        counts.put(k, true);
-                                    }
-                                }
-
-                                found = true;
-                                break;
-                            }
-                        }
-                        if (!found) {
-                            inIdentifier = true;
-                            sb = new StringBuilder(String.valueOf(c));
-                        }
-                    } else {
-                        throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, c, i, line));
+        // the chunks are stitched in order, hence the first error is thrown even if a later chunk failed before
+        for (int i = 0; i < tasks.size(); i++) {
+            final Chunk chunk = tasks.get(i).join();
+            tokens.addAll(chunk.lines());
+            if (chunk.error() != null) {
+                for (int j = i + 1; j < tasks.size(); j++) {
+                    tasks.get(j).cancel(false);
+                }
+                throw chunk.error();
+            }
+        }
+    }
+
+    /**
+     * Reads and tokenizes the next line, which contains at least a token.
+     * <p>
+     * Unlike {@link #tokenize()}, this method reads no more than it needs, so that the lines can be tokenized and
+     * interpreted one at a time, and does not close the input reader.
+     *
+     * @return the tokens of the next line, or {@code null} if the end of the input was reached
+     * @throws ArisException if an error occurs
+     */
+    public Queue<Token> next() throws ArisException {
+        if (buffer != null) {
+            return nextMapped();
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final Queue<Token> queue = tokenize(line);
+                if (!queue.isEmpty()) {
+                    return queue;
+                }
+            }
+            return null;
+        } catch (final IOException e) {
+            throw new LexicalAnalyzerIOException(e);
+        }
+    }
+
+    /**
+     * Closes the input reader, if any.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    /**
+     * Scans and tokenizes the next line of the mapped input, which contains at least a token.
+     *
+     * @return the tokens of the next line, or {@code null} if the end of the input was reached
+     * @throws ArisException if an error occurs
+     */
+    private Queue<Token> nextMapped() throws ArisException {
+        final int limit = buffer.limit();
+        while (position < limit) {
+            // finds the end of the line and the beginning of the comment, if any
+            final int start = position;
+            int end = -1;
+            int i = start;
+            for (byte b; i < limit && (b = buffer.get(i)) != '\n' && b != '\r'; i++) {
+                if (b == '/' && end == -1 && i + 1 < limit && buffer.get(i + 1) == '/') {
+                    end = i;
+                }
+            }
+            final int lineEnd = i;
+            position = i < limit && buffer.get(i) == '\r' && i + 1 < limit && buffer.get(i + 1) == '\n' ? i + 2 : i + 1;
+
+            Queue<Token> queue = scan(start, end != -1 ? end : lineEnd);
+            if (queue != null && !queue.isEmpty()) {
+                try {
+                    validate(queue, null);
+                } catch (final ArisException e) {
+                    queue = null;
+                }
+            }
+            if (queue == null) {
+                // the line is decoded and scanned again, in order to report the error with the line's characters
+                queue = tokenize(decode(start, lineEnd));
+            }
+            if (!queue.isEmpty()) {
+                return queue;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scans the UTF-8 bytes between the given positions of the mapped input.
+     *
+     * @param start the position of the first byte
+     * @param end   the position after the last byte
+     * @return the tokens, which could be none, or {@code null} if the bytes contain an error
+     * @throws ArisException if a string cannot be decoded
+     */
+    private Queue<Token> scan(final int start, final int end) throws ArisException {
+        final Queue<Token> queue = new LinkedList<>();
+        int found = 0; // the keywords found so far, which can occur only once per line
+
+        for (int i = start; i < end; i++) {
+            final int b = buffer.get(i) & 0xff;
+            if (b < ASCII && (classes[b] & BLANK) != 0) continue;
+
+            if (b < ASCII && symbols[b] != null) {
+                queue.add(symbols[b]);
+            } else if (b == 0xc2 || b == 0xe2) {
+                // the multibyte symbols are all encoded in two or three bytes
+                final int length = b == 0xc2 ? 2 : 3;
+                if (i + length > end) return null;
+                int c = b & (length == 2 ? 0x1f : 0x0f);
+                for (int j = 1; j < length; j++) {
+                    final int nb = buffer.get(i + j) & 0xff;
+                    if ((nb & 0xc0) != 0x80) return null;
+                    c = c << 6 | nb & 0x3f;
+                }
+                final Token symbol = symbol((char) c);
+                if (symbol == null) return null;
+                queue.add(symbol);
+                i += length - 1;
+            } else if (b == '"') {
+                int j = i + 1;
+                while (j < end && buffer.get(j) != '"') j++;
+                if (j == end) return null;
+                queue.add(new TString(decode(i + 1, j)));
+                i = j;
+            } else if (b == ':' || b == '-') {
+                if (++i == end) return null;
+                final int nb = buffer.get(i);
+                if (b == ':' && nb == '=') {
+                    queue.add(ASSIGN);
+                } else if (b == '-' && nb == '>') {
+                    queue.add(MATERIAL_IMPLICATION);
+                } else {
+                    return null;
+                }
+            } else if (b >= 'A' && b <= 'Z') {
+                final int j = skip(i + 1, end, ATOM_PART);
+                if (j < end && !isByte(j, ATOM_END)) return null;
+                queue.add(intern(i, j));
+                i = j - 1; // the byte which ends the atom is scanned again
+            } else if (b >= 'a' && b <= 'z') {
+                final int k = keyword(i, end);
+                if (k != -1) {
+                    i += keywords[k].length();
+                    if (i < end && !isByte(i, BLANK)) return null;
+                    if ((UNIQUE_KEYWORDS & 1 << k) != 0) {
+                        if ((found & 1 << k) != 0) return null;
+                        found |= 1 << k;
                     }
+                    queue.add(keywordTokens[k]);
+                } else {
+                    final int j = skip(i + 1, end, IDENTIFIER_PART);
+                    if (j < end && !isByte(j, BLANK)) return null;
+                    queue.add(intern(i, j));
+                    i = j;
                 }
+            } else {
+                return null;
+            }
+        }
+        return queue;
+    }
 
-                // an atom or an identifier can be the last item of a line
-                if (inAtom) {
-                    queue.add(new Atom(sb.toString()));
-                } else if (inIdentifier) {
-                    queue.add(new Identifier(sb.toString()));
+    /**
+     * Returns the position of the first byte, between the given positions, which does not belong to the given class.
+     *
+     * @param start the position of the first byte
+     * @param end   the position after the last byte
+     * @param clazz the class
+     * @return the position of the first byte which does not belong to the given class, or end
+     */
+    private int skip(final int start, final int end, final int clazz) {
+        int i = start;
+        while (i < end && isByte(i, clazz)) i++;
+        return i;
+    }
+
+    /**
+     * Returns {@code true} if the byte at the given position belongs to the given class.
+     *
+     * @param i     the position
+     * @param clazz the class
+     * @return {@code true} if the byte is ASCII and belongs to the given class
+     */
+    private boolean isByte(final int i, final int clazz) {
+        final byte b = buffer.get(i);
+        return b >= 0 && (classes[b] & clazz) != 0;
+    }
+
+    /**
+     * Returns the keyword which the mapped input contains at the given position.
+     *
+     * @param start the position
+     * @param end   the end of the line
+     * @return the index of the keyword, or -1 if there is no keyword
+     */
+    private int keyword(final int start, final int end) {
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            final byte b = buffer.get(i);
+            if (b < 'a' || b > 'z' || (node = trie[node][b - 'a']) == 0) {
+                return -1;
+            }
+            if (accepted[node] != -1) {
+                return accepted[node];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the interned atom or identifier made of the ASCII bytes between the given positions.
+     *
+     * @param start the position of the first byte, which is an uppercase letter for an atom
+     * @param end   the position after the last byte
+     * @return the interned token
+     */
+    private Token intern(final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        final int mask = interned.length - 1;
+        int slot = slot(hash) & mask;
+        for (Token token; (token = interned[slot]) != null; slot = slot + 1 & mask) {
+            if (matches(token.getValue(), start, end)) {
+                return token;
+            }
+        }
+
+        final String value = decodeAscii(start, end);
+        final Token token = buffer.get(start) <= 'Z' ? new Atom(value) : new Identifier(value);
+        if (internedCount == MAX_INTERNED) {
+            // the table is cleared rather than grown, for a script need not reuse its symbols
+            interned = new Token[interned.length];
+            internedCount = 0;
+        } else if (2 * (internedCount + 1) > interned.length) {
+            final Token[] old = interned;
+            interned = new Token[2 * old.length];
+            internedCount = 0;
+            for (final Token t : old) {
+                if (t != null) {
+                    insert(t);
                 }
+            }
+        }
+        insert(token);
+        return token;
+    }
 
-                if (queue.isEmpty()) continue;
+    private static int slot(final int hash) {
+        final int h = hash * 0x9e3779b9;
+        return h ^ h >>> 16;
+    }
 
-                // validates the line's syntax
-                int i = 1;
-                final Queue<Token> list = new LinkedList<>();
-                Token token;
-                while ((token = queue.poll()) != null) {
-                    if (list.isEmpty()) {
-                        final Token nextToken = queue.peek();
-                        if (!(token instanceof Print) && nextToken == null) {
-                            throw new UnexpectedEndOfLineException(String.format(UNEXPECTED_END_OF_LINE, line));
-                        }
-                        if (token instanceof Atom) {
-                            if (!(nextToken instanceof Assign)) {
-                                throw new UnexpectedSymbolException(String.format(UNEXPECTED_SYMBOL, nextToken, i, line));
-                            }
-                        } else if (!(token instanceof Argument || token instanceof Assert ||
-                                token instanceof Print || token instanceof Validate || token instanceof Valuate)) {
-                            throw new UnexpectedSymbolException(String.format(UNEXPECTED_SYMBOL, token, i, line));
+    private void insert(final Token token) {
+        final String value = token.getValue();
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        final int mask = interned.length - 1;
+        int slot = slot(hash) & mask;
+        while (interned[slot] != null) {
+            slot = slot + 1 & mask;
+        }
+        interned[slot] = token;
+        internedCount++;
+    }
+
+    private boolean matches(final String value, final int start, final int end) {
+        if (value.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i - start) != buffer.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decodeAscii(final int start, final int end) {
+        final char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = (char) buffer.get(i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Decodes the UTF-8 bytes between the given positions of the mapped input.
+     *
+     * @param start the position of the first byte
+     * @param end   the position after the last byte
+     * @return the decoded characters
+     * @throws LexicalAnalyzerIOException if the bytes are not valid UTF-8
+     */
+    private String decode(final int start, final int end) throws LexicalAnalyzerIOException {
+        try {
+            return decoder.decode(buffer.slice(start, end - start)).toString();
+        } catch (final CharacterCodingException e) {
+            throw new LexicalAnalyzerIOException(e);
+        }
+    }
+
+    /**
+     * Tokenizes the given line.
+     *
+     * @param line the line
+     * @return the line's tokens, which could be none
+     * @throws IllegalArgumentException if line is {@code null}
+     * @throws ArisException            if the line contains an error
+     */
+    public static Queue<Token> tokenize(final String line) throws ArisException {
+        if (line == null) {
+            throw new IllegalArgumentException("line cannot be null");
+        }
+        final int n = line.indexOf("//");
+        final int end = n != -1 ? n : line.length();
+        final Queue<Token> queue = new LinkedList<>();
+        int found = 0; // the keywords found so far, which can occur only once per line
+
+        for (int i = 0; i < end; i++) {
+            final char c = line.charAt(i);
+
+            // spaces are ignored except when parsing a string
+            if (is(c, BLANK)) continue;
+
+            final Token symbol = symbol(c);
+            if (symbol != null) {
+                queue.add(symbol);
+            } else if (c == '"') {
+                final int start = ++i;
+                while (i < end && line.charAt(i) != '"') {
+                    if (i == end - 1) {
+                        throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, line.charAt(i), i, line));
+                    }
+                    i++;
+                }
+                if (i < end) {
+                    queue.add(new TString(line.substring(start, i)));
+                }
+            } else if (c == ':' || c == '-') {
+                if (++i == end) {
+                    throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, c, i - 1, line));
+                }
+                final char nc = line.charAt(i);
+                if (c == ':' && nc == '=') {
+                    queue.add(ASSIGN);
+                } else if (c == '-' && nc == '>') {
+                    queue.add(MATERIAL_IMPLICATION);
+                } else {
+                    throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, nc, i, line));
+                }
+            } else if (c >= 'A' && c <= 'Z') {
+                final int start = i;
+                while (++i < end && is(line.charAt(i), ATOM_PART)) ;
+                queue.add(new Atom(line.substring(start, i)));
+                if (i < end) {
+                    if (!is(line.charAt(i), ATOM_END)) {
+                        throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, line.charAt(i), i, line));
+                    }
+                    i--; // the character which ends the atom is scanned again
+                }
+            } else if (c >= 'a' && c <= 'z') {
+                final int k = keyword(line, i, end);
+                if (k != -1) {
+                    queue.add(keywordTokens[k]);
+                    i += keywords[k].length();
+                    if (i < end && !is(line.charAt(i), BLANK)) {
+                        throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, line.charAt(i), i, line));
+                    }
+                    if ((UNIQUE_KEYWORDS & 1 << k) != 0) {
+                        if ((found & 1 << k) != 0) {  // there can be only one symbol per line
+                            throw new UnexpectedSymbolException(String.format(UNEXPECTED_SYMBOL, keywords[k],
+                                    i - keywords[k].length(), line));
                         }
+                        found |= 1 << k;
                     }
-                    final Token nextToken = queue.peek();
-                    if (nextToken == null || token.canFollow(nextToken)) {
-                        list.add(token);
-                    } else {
-                        throw new UnexpectedSymbolException(String.format(UNEXPECTED_SYMBOL, nextToken, i, line));
+                } else {
+                    final int start = i;
+                    while (++i < end && is(line.charAt(i), IDENTIFIER_PART)) ;
+                    if (i < end && !is(line.charAt(i), BLANK)) {
+                        throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, line.charAt(i), i, line));
                     }
-                    i++;
+                    queue.add(new Identifier(line.substring(start, i)));
                 }
-                tokens.add(list);
+            } else {
+                throw new UnexpectedCharacterException(String.format(UNEXPECTED_CHARACTER, c, i, line));
             }
-        } catch (final IOException | ReflectiveOperationException e) {
-            throw new LexicalAnalyzerIOException(e);
         }
+
+        if (queue.isEmpty()) return queue;
+
+        validate(queue, line);
+        return queue;
+    }
+
+    /**
+     * Validates the syntax of the given line's tokens, one pair of adjacent tokens at a time.
+     *
+     * @param queue the tokens, which are at least one
+     * @param line  the line
+     * @throws ArisException if the line contains an error
+     */
+    private static void validate(final Queue<Token> queue, final String line) throws ArisException {
+        final Iterator<Token> iterator = queue.iterator();
+        Token token = iterator.next();
+        Token nextToken = iterator.hasNext() ? iterator.next() : null;
+        if (token.getKind() != TokenKind.PRINT && nextToken == null) {
+            throw new UnexpectedEndOfLineException(String.format(UNEXPECTED_END_OF_LINE, line));
+        }
+        if (token.getKind() == TokenKind.ATOM) {
+            if (nextToken.getKind() != TokenKind.ASSIGN) {
+                throw new UnexpectedSymbolException(String.format(UNEXPECTED_SYMBOL, nextToken, 1, line));
+            }
+        } else if ((STATEMENTS & 1L << token.getKind().ordinal()) == 0) {
+            throw new UnexpectedSymbolException(String.format(UNEXPECTED_SYMBOL, token, 1, line));
+        }
+        for (int i = 1; nextToken != null; i++) {
+            if (!token.canFollow(nextToken)) {
+                throw new UnexpectedSymbolException(String.format(UNEXPECTED_SYMBOL, nextToken, i, line));
+            }
+            token = nextToken;
+            nextToken = iterator.hasNext() ? iterator.next() : null;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the given character belongs to the given class.
+     *
+     * @param c     the character
+     * @param clazz the class
+     * @return {@code true} if the given character is ASCII and belongs to the given class
+     */
+    private static boolean is(final char c, final int clazz) {
+        return c < ASCII && (classes[c] & clazz) != 0;
+    }
+
+    /**
+     * Returns the token of the given one-character symbol.
+     *
+     * @param c the character
+     * @return the token, or {@code null} if the given character is not a symbol
+     */
+    private static Token symbol(final char c) {
+        if (c < ASCII) {
+            return symbols[c];
+        }
+        return switch (c) {
+            case '∧' -> AND;
+            case '→', '⊃' -> MATERIAL_IMPLICATION;
+            case '¬' -> NOT;
+            case '∨' -> OR;
+            case '∴' -> THEREFORE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the keyword which the given line contains at the given position.
+     *
+     * @param line  the line
+     * @param start the position
+     * @param end   the end of the line
+     * @return the index of the keyword, or -1 if there is no keyword
+     */
+    private static int keyword(final String line, final int start, final int end) {
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            final char c = line.charAt(i);
+            if (c < 'a' || c > 'z' || (node = trie[node][c - 'a']) == 0) {
+                return -1;
+            }
+            if (accepted[node] != -1) {
+                return accepted[node];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The lines of a chunk which was tokenized concurrently, and the error which stopped its tokenization, if any.
+     */
+    private record Chunk(List<Queue<Token>> lines, ArisException error) {
     }
 }
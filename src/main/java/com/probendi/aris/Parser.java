@@ -1,36 +1,165 @@
 package com.probendi.aris;
 
+import com.probendi.aris.engine.DecisionProcedure;
+import com.probendi.aris.engine.Engine;
 import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.exception.MissingSymbolException;
 import com.probendi.aris.exception.ParserException;
 import com.probendi.aris.exception.UnexpectedSymbolException;
+import com.probendi.aris.formula.AdaptiveEvaluator;
 import com.probendi.aris.formula.Argument;
+import com.probendi.aris.formula.CompiledFormula;
+import com.probendi.aris.formula.Conjunction;
+import com.probendi.aris.formula.FormulaNetwork;
+import com.probendi.aris.formula.Negation;
+import com.probendi.aris.formula.Valuation;
+import com.probendi.aris.formula.FormulaFactory;
 import com.probendi.aris.formula.WellFormedFormula;
 import com.probendi.aris.token.*;
 
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * {@code Parser} parses and interprets a list of tokens.
  * <p>
+ * A parser created with a pool validates arguments and asserts tautologies concurrently. The commands depend only on
+ * the arguments which their identifiers denote when they are parsed, since an argument redefined later is a new
+ * object, hence every {@code validate} and {@code assert} can be executed as soon as it is parsed. The cheap statements
+ * are executed at once, and the output and the results are recorded in the order of the script.
+ * <p>
+ * Every valuated argument is lowered once to a {@link FormulaNetwork}, which keeps the truth-values of its
+ * subformulae, hence a valuation recomputes only the subformulae which depend on the atoms changed since the previous
+ * one, and a parser which interprets one line at a time valuates the same arguments over and over cheaply. A parser
+ * set to use bytecode compiles every valuated argument instead, and translates it into bytecode once it has been
+ * valuated {@link AdaptiveEvaluator#THRESHOLD} times.
+ * <p>
  * {@code @Copyright}, 2023 Daniele Di Salvo
  */
 public class Parser {
 
+    // the maximum number of commands whose output is not printed yet
+    private static final int MAX_PENDING = 1 << 12;
+
+    private final DecisionProcedure procedure;
+    private final ForkJoinPool pool;
+    private final PrintStream out;
+    private final Queue<Command> commands = new ArrayDeque<>();
+
+    private final FormulaFactory factory = new FormulaFactory();
     private final Map<String, Argument> arguments = new HashMap<>();
     private final Map<String, Boolean> assertions = new HashMap<>();
-    private final Map<String, Boolean> values = new HashMap<>();
+    private final Valuation values = new Valuation(factory.getSymbols());
     private final Map<String, Boolean> valuations = new HashMap<>();
     private final Map<String, Boolean> validations = new HashMap<>();
+    private final Map<String, ValuatedArgument> valuated = new HashMap<>();
+    // incremented whenever the value of an atom changes
+    private long version;
+    private boolean bytecode;
 
     private static final String ARGUMENT_INVALID = "argument \"%s\" is invalid\n";
     private static final String ARGUMENT_IS_NOT_TAUTOLOGY = "argument \"%s\" is not a tautology\n";
     private static final String ARGUMENT_IS_TAUTOLOGY = "argument \"%s\" is a tautology\n";
     private static final String ARGUMENT_VALID = "argument \"%s\" is valid\n";
+    private static final String COUNTEREXAMPLE = "argument \"%s\" has counterexample %s\n";
+    private static final String NO_COUNTEREXAMPLE = "argument \"%s\" has no counterexample\n";
     private static final String VALUATION = "argument \"%s\" is %b\n";
 
+    /**
+     * Creates a new parser which validates arguments and asserts tautologies by means of a truth table.
+     */
+    public Parser() {
+        this(Engine.TRUTH_TABLE.create());
+    }
+
+    /**
+     * Creates a new parser which validates arguments and asserts tautologies by means of the given decision procedure.
+     *
+     * @param procedure the decision procedure
+     * @throws IllegalArgumentException if procedure is {@code null}
+     */
+    public Parser(final DecisionProcedure procedure) {
+        this(procedure, System.out);
+    }
+
+    /**
+     * Creates a new parser which validates arguments and asserts tautologies by means of the given decision procedure,
+     * and prints to the given stream.
+     *
+     * @param procedure the decision procedure
+     * @param out       the output stream
+     * @throws IllegalArgumentException if procedure or out is {@code null}
+     */
+    public Parser(final DecisionProcedure procedure, final PrintStream out) {
+        if (procedure == null) {
+            throw new IllegalArgumentException("procedure cannot be null");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        this.procedure = procedure;
+        this.out = out;
+        pool = null;
+    }
+
+    /**
+     * Creates a new parser which validates arguments and asserts tautologies concurrently on the given pool by means
+     * of the given decision procedure.
+     *
+     * @param procedure the decision procedure, which must be thread-safe
+     * @param pool      the pool
+     * @throws IllegalArgumentException if procedure or pool is {@code null}
+     */
+    public Parser(final DecisionProcedure procedure, final ForkJoinPool pool) {
+        this(procedure, System.out, pool);
+    }
+
+    /**
+     * Creates a new parser which validates arguments and asserts tautologies concurrently on the given pool by means
+     * of the given decision procedure, and prints to the given stream.
+     *
+     * @param procedure the decision procedure, which must be thread-safe
+     * @param out       the output stream
+     * @param pool      the pool
+     * @throws IllegalArgumentException if procedure, out or pool is {@code null}
+     */
+    public Parser(final DecisionProcedure procedure, final PrintStream out, final ForkJoinPool pool) {
+        if (procedure == null) {
+            throw new IllegalArgumentException("procedure cannot be null");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+        this.procedure = procedure;
+        this.out = out;
+        this.pool = pool;
+    }
+
+    /**
+     * Sets whether the valuated arguments are compiled and translated into bytecode, rather than lowered to a
+     * {@link FormulaNetwork}, which pays off on large arguments valuated many times.
+     *
+     * @param bytecode {@code true} if the valuated arguments must be translated into bytecode
+     */
+    public void setBytecode(final boolean bytecode) {
+        this.bytecode = bytecode;
+    }
+
     /**
      * Parses and interprets the given queue.
      *
@@ -41,74 +170,238 @@ public class Parser {
         if (queue == null) {
             throw new IllegalArgumentException("queue cannot be null");
         }
-        // we parse and interpret all lines one by one.
-        // we assume that the lexer already processed the input file
+        try {
+            Queue<Token> tokens;
+            while ((tokens = queue.poll()) != null) {
+                parseLine(tokens);
+            }
+        } finally {
+            // the error of a previous command, if any, is thrown first
+            flush();
+        }
+    }
+
+    /**
+     * Parses and interprets the lines produced by the given lexical analyzer.
+     * <p>
+     * Every line is interpreted as soon as it has been tokenized, hence the whole program is never held in memory and
+     * the output of the first lines is printed before the remaining ones are read.
+     *
+     * @param lexer the lexical analyzer
+     * @throws ArisException if the program cannot be tokenized, parsed or interpreted
+     */
+    public void parse(final LexicalAnalyzer lexer) throws ArisException {
+        if (lexer == null) {
+            throw new IllegalArgumentException("lexer cannot be null");
+        }
+        try {
+            Queue<Token> tokens;
+            while ((tokens = lexer.next()) != null) {
+                parseLine(tokens);
+            }
+        } finally {
+            // the error of a previous command, if any, is thrown first
+            flush();
+        }
+    }
+
+    /**
+     * Parses and interprets a line.
+     * <p>
+     * If this parser has a pool, the output of the line could be printed by a following call or by {@link #flush()}.
+     *
+     * @param tokens the line's tokens, which were validated by the lexical analyzer
+     * @throws ArisException if the line cannot be parsed and interpreted
+     */
+    public void parseLine(final Queue<Token> tokens) throws ArisException {
+        if (tokens == null) {
+            throw new IllegalArgumentException("tokens cannot be null");
+        }
+        // we assume that the lexer already validated the line
         // consequently, we invoke the remove method rather than the poll method
         // therefore, there need not confirm that the poll method did not return null
-        String line = "";
+        final String line = tokens.toString();
         try {
-            while (queue.peek() != null) {
-                final Queue<Token> tokens = queue.remove();
-                line = tokens.toString();
-                final Token token = tokens.remove();
-                if (token == null) continue; // this should never happen
-
-                if (token instanceof Print) {
-                    if (tokens.peek() != null) {
-                        System.out.println(tokens.remove());
-                    } else {
-                        System.out.println();
-                    }
-                    continue;
-                }
+            final Token token = tokens.remove();
+            if (token == null) return; // this should never happen
+
+            if (token instanceof Print) {
+                final String text = tokens.peek() != null ? tokens.remove().toString() : "";
+                execute(new Command(() -> true, null, null, b -> text + System.lineSeparator()), false);
+                return;
+            }
 
-                final Token nextToken = tokens.remove();
-                if (token instanceof Atom) {
-                    if (nextToken instanceof Assign) {
-                        values.put(token.getValue(), tokens.remove() instanceof True);
+            final Token nextToken = tokens.remove();
+            if (token instanceof Atom) {
+                if (nextToken instanceof Assign) {
+                    final boolean value = tokens.remove() instanceof True;
+                    if (values.set(token.getValue(), value)) {
+                        version++;
                     }
-                } else if (token instanceof com.probendi.aris.token.Argument) {
-                    final Identifier identifier = (Identifier) nextToken;
-                    tokens.remove();
-                    final Argument argument = new Argument();
-                    while (!tokens.isEmpty()) {
-                        final WellFormedFormula formula = WellFormedFormula.parse(tokens);
-                        if (formula == null) {
-                            final Token t = tokens.remove();
-                            if (!(t instanceof RBracket) && argument.getConclusion() != null) {
-                                throw new UnexpectedSymbolException();
-                            }
-                            if (t instanceof Therefore) {
-                                argument.setConclusion(WellFormedFormula.parse(tokens));
-                            }
-                        } else {
-                            argument.addPremise(formula);
+                }
+            } else if (token instanceof com.probendi.aris.token.Argument) {
+                final Identifier identifier = (Identifier) nextToken;
+                tokens.remove();
+                final Argument argument = new Argument();
+                while (!tokens.isEmpty()) {
+                    final WellFormedFormula formula = WellFormedFormula.parse(tokens, factory);
+                    if (formula == null) {
+                        final Token t = tokens.remove();
+                        if (!(t instanceof RBracket) && argument.getConclusion() != null) {
+                            throw new UnexpectedSymbolException();
                         }
+                        if (t instanceof Therefore) {
+                            argument.setConclusion(WellFormedFormula.parse(tokens, factory));
+                        }
+                    } else {
+                        argument.addPremise(formula);
                     }
-                    arguments.put(identifier.getValue(), argument);
-                } else if (token instanceof Assert) {
-                    final String id = nextToken.getValue();
-                    final boolean b = arguments.get(id).isTautology();
-                    assertions.put(id, b);
-                    System.out.printf(b ?
-                            ARGUMENT_IS_TAUTOLOGY : ARGUMENT_IS_NOT_TAUTOLOGY, arguments.get(id).getPremises().get(0));
-                } else if (token instanceof Validate) {
-                    final String id = nextToken.getValue();
-                    final boolean b = arguments.get(id).isValid();
-                    validations.put(id, b);
-                    System.out.printf(b ? ARGUMENT_VALID : ARGUMENT_INVALID, arguments.get(id));
-                } else if (token instanceof Valuate) {
-                    final String id = nextToken.getValue();
-                    final boolean b = arguments.get(id).valuate(values);
-                    valuations.put(id, b);
-                    System.out.printf(VALUATION, arguments.get(id), b);
                 }
+                arguments.put(identifier.getValue(), argument);
+            } else if (token instanceof Assert) {
+                final String id = nextToken.getValue();
+                final Argument argument = getArgument(id);
+                execute(new Command(() -> procedure.isTautology(argument), assertions, id, b -> String.format(b ?
+                        ARGUMENT_IS_TAUTOLOGY : ARGUMENT_IS_NOT_TAUTOLOGY, argument.getPremises().get(0))), true);
+            } else if (token instanceof Validate) {
+                final String id = nextToken.getValue();
+                final Argument argument = getArgument(id);
+                execute(new Command(() -> procedure.isValid(argument), validations, id,
+                        b -> String.format(b ? ARGUMENT_VALID : ARGUMENT_INVALID, argument)), true);
+            } else if (token instanceof Counterexample) {
+                // the counterexample of an argument without conclusion makes its only premise false
+                final String id = nextToken.getValue();
+                final Argument argument = getArgument(id);
+                final Object text = argument.getConclusion() == null ? argument.getPremises().get(0) : argument;
+                final AtomicReference<Map<String, Boolean>> model = new AtomicReference<>();
+                execute(new Command(() -> {
+                    model.set(argument.getConclusion() == null ?
+                            procedure.findModel(List.of(new Negation(argument.getPremises().get(0)))) :
+                            procedure.findCounterModel(argument));
+                    return model.get() != null;
+                }, null, null, b -> b ? String.format(COUNTEREXAMPLE, text, format(model.get())) :
+                        String.format(NO_COUNTEREXAMPLE, text)), true);
+            } else if (token instanceof Valuate) {
+                // the valuation is cheap, hence it is executed at once with the current values
+                final String id = nextToken.getValue();
+                final Argument argument = getArgument(id);
+                execute(new Command(() -> valuate(id, argument), valuations, id,
+                        b -> String.format(VALUATION, argument, b)), false);
             }
         } catch (final NoSuchElementException e) { // this should never happen
             throw new ParserException("Failed to parse line " + line);
         }
     }
 
+    /**
+     * Returns the given valuation, sorted by symbol, e.g., {@code P=true, Q=false}.
+     *
+     * @param model the valuation
+     * @return the formatted valuation
+     */
+    private static String format(final Map<String, Boolean> model) {
+        final StringJoiner joiner = new StringJoiner(", ");
+        new TreeMap<>(model).forEach((symbol, value) -> joiner.add(symbol + "=" + value));
+        return joiner.toString();
+    }
+
+    /**
+     * Returns the argument which the given identifier denotes.
+     *
+     * @param id the identifier
+     * @return the argument
+     * @throws ParserException if the identifier denotes no argument
+     */
+    private Argument getArgument(final String id) throws ParserException {
+        final Argument argument = arguments.get(id);
+        if (argument == null) {
+            throw new ParserException("Undefined argument " + id);
+        }
+        return argument;
+    }
+
+    /**
+     * Valuates the given argument with the current values, recomputing only the subformulae which depend on the atoms
+     * whose values changed since the argument was last valuated.
+     *
+     * @param id       the argument's identifier
+     * @param argument the argument
+     * @return the argument's truth-value
+     * @throws MissingSymbolException if a symbol is not found in the values lookup table
+     */
+    private boolean valuate(final String id, final Argument argument) throws MissingSymbolException {
+        if (argument.getConclusion() == null) {
+            return argument.valuate(values);
+        }
+        ValuatedArgument v = valuated.get(id);
+        if (v == null || v.argument != argument) {
+            v = new ValuatedArgument(argument, bytecode);
+            valuated.put(id, v);
+        }
+        if (v.version != version) {
+            try {
+                v.result = v.valuate(values);
+            } catch (final MissingSymbolException e) {
+                // the tree valuation throws the same exception, unless it does not reach the missing symbol
+                return argument.valuate(values);
+            }
+            v.version = version;
+        }
+        return v.result;
+    }
+
+    /**
+     * Waits for the commands which are still executing, and prints their output.
+     *
+     * @throws ArisException if a command failed
+     */
+    public void flush() throws ArisException {
+        flush(0);
+    }
+
+    /**
+     * Executes the given command, concurrently if this parser has a pool and the command is expensive.
+     *
+     * @param command    the command
+     * @param concurrent {@code true} if the command is expensive
+     * @throws ArisException if this or a previous command failed
+     */
+    private void execute(final Command command, final boolean concurrent) throws ArisException {
+        if (pool != null && concurrent) {
+            pool.execute(command);
+        } else {
+            command.invoke();
+        }
+        commands.add(command);
+        flush(pool == null ? 0 : MAX_PENDING);
+    }
+
+    /**
+     * Records the results and prints the output of the commands in order, as long as they are done or more than the
+     * given number of commands are pending.
+     *
+     * @param pending the number of commands which can be left pending
+     * @throws ArisException if a command failed
+     */
+    private void flush(final int pending) throws ArisException {
+        Command command;
+        while ((command = commands.peek()) != null && (commands.size() > pending || command.isDone())) {
+            commands.remove();
+            final boolean b = command.join();
+            if (command.error instanceof ArisException e) {
+                commands.clear();
+                throw e;
+            } else if (command.error instanceof RuntimeException e) {
+                commands.clear();
+                throw e;
+            }
+            if (command.results != null) {
+                command.results.put(command.id, b);
+            }
+            out.print(command.output.apply(b));
+        }
+    }
+
     /**
      * Returns the arguments.
      *
@@ -130,10 +423,10 @@ public class Parser {
     /**
      * Returns the values.
      *
-     * @return the values
+     * @return a copy of the values
      */
     protected Map<String, Boolean> getValues() {
-        return values;
+        return values.toMap();
     }
 
     /**
@@ -153,4 +446,101 @@ public class Parser {
     protected Map<String, Boolean> getValuations() {
         return valuations;
     }
+
+    /**
+     * An argument lowered to a network, or compiled, as the conjunction of its premises and its conclusion, with its
+     * last valuation.
+     */
+    private static final class ValuatedArgument {
+
+        private final Argument argument;
+        private final FormulaNetwork network;
+        private final AdaptiveEvaluator evaluator;
+        private final List<String> symbols;
+        private final long[] words;
+        private final long[] stack;
+        private long version = -1;
+        private boolean result;
+
+        private ValuatedArgument(final Argument argument, final boolean bytecode) {
+            final List<WellFormedFormula> formulae = new ArrayList<>(argument.getPremises());
+            formulae.add(argument.getConclusion());
+            this.argument = argument;
+            if (bytecode) {
+                WellFormedFormula conjunction = formulae.get(0);
+                for (int i = 1; i < formulae.size(); i++) {
+                    conjunction = new Conjunction(conjunction, formulae.get(i));
+                }
+                final CompiledFormula program = CompiledFormula.compile(conjunction);
+                network = null;
+                evaluator = new AdaptiveEvaluator(program);
+                symbols = program.getSymbols();
+                words = new long[symbols.size()];
+                stack = new long[program.getDepth()];
+            } else {
+                network = new FormulaNetwork(formulae);
+                evaluator = null;
+                symbols = null;
+                words = null;
+                stack = null;
+            }
+        }
+
+        private boolean valuate(final Valuation values) throws MissingSymbolException {
+            if (network != null) {
+                return network.valuate(values);
+            }
+            // every row of the words holds the same valuation
+            for (int i = 0; i < words.length; i++) {
+                final int index = values.getSymbols().indexOf(symbols.get(i));
+                if (index < 0 || !values.isKnown(index)) {
+                    throw new MissingSymbolException(symbols.get(i));
+                }
+                words[i] = values.get(index) ? -1L : 0L;
+            }
+            return (evaluator.evaluateWord(words, stack) & 1) == 1;
+        }
+    }
+
+    /**
+     * A check, which can fail.
+     */
+    @FunctionalInterface
+    private interface Check {
+        boolean apply() throws ArisException;
+    }
+
+    /**
+     * A statement, whose result is recorded under an identifier, if any, and whose output is printed in the order of
+     * the script.
+     */
+    private static final class Command extends RecursiveTask<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Check check;
+        private final Map<String, Boolean> results;
+        private final String id;
+        private final Function<Boolean, String> output;
+        private Exception error;
+
+        private Command(final Check check, final Map<String, Boolean> results, final String id,
+                        final Function<Boolean, String> output) {
+            this.check = check;
+            this.results = results;
+            this.id = id;
+            this.output = output;
+        }
+
+        @Override
+        protected Boolean compute() {
+            // the error is thrown by the parser, in order
+            try {
+                return check.apply();
+            } catch (final ArisException | RuntimeException e) {
+                error = e;
+                return false;
+            }
+        }
+    }
 }
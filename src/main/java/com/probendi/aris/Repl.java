@@ -0,0 +1,72 @@
+package com.probendi.aris;
+
+import com.probendi.aris.exception.ArisException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * {@code Repl} reads lines from a user, and interprets them one at a time, in the same session.
+ * <p>
+ * An error is printed and the line is discarded, while the arguments and the values defined by the previous lines are
+ * kept, hence the user can correct the line and go on.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Repl {
+
+    /**
+     * The prompt printed before reading a line.
+     */
+    public static final String PROMPT = "aris> ";
+
+    private final Session session;
+    private final BufferedReader in;
+    private final PrintStream out;
+
+    /**
+     * Creates a new REPL which interprets the lines read from the given input in the given session.
+     *
+     * @param session the session
+     * @param in      the input
+     * @param out     the output
+     * @throws IllegalArgumentException if session, in or out is {@code null}
+     */
+    public Repl(final Session session, final BufferedReader in, final PrintStream out) {
+        if (session == null) {
+            throw new IllegalArgumentException("session cannot be null");
+        }
+        if (in == null) {
+            throw new IllegalArgumentException("in cannot be null");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        this.session = session;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Reads and interprets lines, until the input ends.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void run() throws IOException {
+        String line;
+        while (true) {
+            out.print(PROMPT);
+            out.flush();
+            if ((line = in.readLine()) == null) {
+                break;
+            }
+            try {
+                out.print(session.execute(line));
+            } catch (final ArisException | RuntimeException e) {
+                out.println("error: " + e.getMessage());
+            }
+        }
+        out.println();
+    }
+}
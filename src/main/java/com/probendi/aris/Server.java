@@ -0,0 +1,187 @@
+package com.probendi.aris;
+
+import com.probendi.aris.engine.DecisionProcedure;
+import com.probendi.aris.exception.ArisException;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@code Server} interprets the programs of many clients, which connect to a local socket, in a warm JVM.
+ * <p>
+ * Every client has its own {@link Session}, and is served by its own thread, while all the clients share the same
+ * decision procedure. A client sends one line at a time, and receives the line's output followed by a status line.
+ * The status line is a single {@code .} if the line was interpreted, or {@code .error} followed by the error message
+ * otherwise. An output line which starts with {@code .} is sent with another {@code .} in front of it, hence a line
+ * which starts with a single {@code .} is always a status line.
+ * <p>
+ * Closing the server closes the sockets of the connected clients, since interrupting their threads would not unblock
+ * the reads on the sockets.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Server implements Closeable {
+
+    /**
+     * The status line of a line which was interpreted.
+     */
+    public static final String OK = ".";
+
+    /**
+     * The prefix of the status line of a line which could not be interpreted.
+     */
+    public static final String ERROR = ".error ";
+
+    private final DecisionProcedure procedure;
+    private final boolean bytecode;
+    private final ServerSocket socket;
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r, "aris-session");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a new server which listens on the given port of the loopback address.
+     *
+     * @param port      the port, or 0 for any free port
+     * @param procedure the decision procedure, which must be thread-safe
+     * @throws IllegalArgumentException if procedure is {@code null} or port is out of range
+     * @throws IOException              if the socket cannot be opened
+     */
+    public Server(final int port, final DecisionProcedure procedure) throws IOException {
+        this(port, procedure, false);
+    }
+
+    /**
+     * Creates a new server which listens on the given port of the loopback address.
+     *
+     * @param port      the port, or 0 for any free port
+     * @param procedure the decision procedure, which must be thread-safe
+     * @param bytecode  {@code true} if the sessions' valuated arguments must be translated into bytecode
+     * @throws IllegalArgumentException if procedure is {@code null} or port is out of range
+     * @throws IOException              if the socket cannot be opened
+     * @see Parser#setBytecode(boolean)
+     */
+    public Server(final int port, final DecisionProcedure procedure, final boolean bytecode) throws IOException {
+        if (procedure == null) {
+            throw new IllegalArgumentException("procedure cannot be null");
+        }
+        this.procedure = procedure;
+        this.bytecode = bytecode;
+        socket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Returns the port on which this server listens.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Accepts clients, until this server is closed.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void run() throws IOException {
+        try {
+            while (!socket.isClosed()) {
+                final Socket client = socket.accept();
+                clients.add(client);
+                if (socket.isClosed()) {
+                    // the server was closed after the client was accepted, but before it was added
+                    clients.remove(client);
+                    client.close();
+                    break;
+                }
+                executor.execute(() -> {
+                    try (client) {
+                        final Session session = new Session(procedure);
+                        session.getParser().setBytecode(bytecode);
+                        serve(session,
+                                new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8)),
+                                new PrintStream(client.getOutputStream(), false, StandardCharsets.UTF_8));
+                    } catch (final IOException e) { // the client disconnected, or the server was closed
+                    } finally {
+                        clients.remove(client);
+                    }
+                });
+            }
+        } catch (final SocketException e) {
+            if (!socket.isClosed()) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Interprets the lines read from the given input, and writes their output and status to the given output, until
+     * the input ends.
+     *
+     * @param session the session
+     * @param in      the input
+     * @param out     the output
+     * @throws IllegalArgumentException if session, in or out is {@code null}
+     * @throws IOException              if an I/O error occurs
+     */
+    public static void serve(final Session session, final BufferedReader in, final PrintStream out) throws IOException {
+        if (session == null) {
+            throw new IllegalArgumentException("session cannot be null");
+        }
+        if (in == null) {
+            throw new IllegalArgumentException("in cannot be null");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out cannot be null");
+        }
+        String line;
+        while ((line = in.readLine()) != null) {
+            String status = OK;
+            try {
+                session.execute(line).lines().forEach(l -> out.println(l.startsWith(".") ? "." + l : l));
+            } catch (final ArisException | RuntimeException e) {
+                // an error ends the line, not the session
+                status = ERROR + e.getMessage();
+            }
+            out.println(status);
+            out.flush();
+            if (out.checkError()) {
+                throw new EOFException("the client disconnected");
+            }
+        }
+    }
+
+    /**
+     * Stops accepting clients, and disconnects the connected ones.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+        IOException error = null;
+        for (final Socket client : clients) {
+            try {
+                client.close();
+            } catch (final IOException e) {
+                error = e;
+            }
+        }
+        executor.shutdownNow();
+        if (error != null) {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.probendi.aris;
+
+import com.probendi.aris.engine.DecisionProcedure;
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.token.Token;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+
+/**
+ * {@code Session} interprets a program one line at a time, and keeps its arguments and values between lines.
+ * <p>
+ * Every session has its own parser, hence several sessions can share a thread-safe decision procedure and be used
+ * concurrently, as long as every session is used by one thread at a time.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Session {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final Parser parser;
+
+    /**
+     * Creates a new session which validates arguments and asserts tautologies by means of the given decision
+     * procedure.
+     *
+     * @param procedure the decision procedure
+     * @throws IllegalArgumentException if procedure is {@code null}
+     */
+    public Session(final DecisionProcedure procedure) {
+        if (procedure == null) {
+            throw new IllegalArgumentException("procedure cannot be null");
+        }
+        parser = new Parser(procedure, new PrintStream(buffer, true, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the parser, which holds the session's state.
+     *
+     * @return the parser
+     */
+    protected Parser getParser() {
+        return parser;
+    }
+
+    /**
+     * Tokenizes and interprets the given line.
+     *
+     * @param line the line
+     * @return the line's output, which could be empty
+     * @throws IllegalArgumentException if line is {@code null}
+     * @throws ArisException            if the line cannot be tokenized, parsed or interpreted
+     */
+    public String execute(final String line) throws ArisException {
+        if (line == null) {
+            throw new IllegalArgumentException("line cannot be null");
+        }
+        buffer.reset();
+        final Queue<Token> tokens = LexicalAnalyzer.tokenize(line);
+        if (!tokens.isEmpty()) {
+            parser.parseLine(tokens);
+        }
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
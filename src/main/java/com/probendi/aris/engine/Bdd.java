@@ -0,0 +1,233 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.formula.*;
+
+import java.util.*;
+
+/**
+ * A manager of reduced ordered binary decision diagrams (ROBDDs).
+ * <p>
+ * All the diagrams share the same hash-consed table of nodes, hence two formulae are equivalent if and only if they
+ * are represented by the same node, and a formula is a tautology if and only if it is represented by {@link #TRUE}.
+ * Nodes are combined by the if-then-else operator, whose results are memoised in a lossy cache. Variables are ordered
+ * by the depth-first, left-to-right position of their first occurrence in the converted formulae.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Bdd {
+
+    /**
+     * The node which represents the constant {@code false}.
+     */
+    public static final int FALSE = 0;
+
+    /**
+     * The node which represents the constant {@code true}.
+     */
+    public static final int TRUE = 1;
+
+    private static final int TERMINAL = Integer.MAX_VALUE;
+    private static final int CACHE_SIZE = 1 << 16;
+
+    private final List<String> symbols = new ArrayList<>();
+    private final Map<String, Integer> levels = new HashMap<>();
+
+    // the nodes: the level of the variable, and the low (false) and high (true) children
+    private int[] vars = new int[1024];
+    private int[] lows = new int[1024];
+    private int[] highs = new int[1024];
+    private int size;
+
+    // the unique table, an open-addressing hash table of nodes
+    private int[] table = new int[2048];
+
+    // the if-then-else cache, indexed by the hash of the operands
+    private final int[] cacheF = new int[CACHE_SIZE];
+    private final int[] cacheG = new int[CACHE_SIZE];
+    private final int[] cacheH = new int[CACHE_SIZE];
+    private final int[] cacheR = new int[CACHE_SIZE];
+
+    /**
+     * Creates a new manager.
+     */
+    public Bdd() {
+        clear();
+    }
+
+    /**
+     * Discards all the nodes and variables.
+     */
+    public void clear() {
+        symbols.clear();
+        levels.clear();
+        Arrays.fill(table, -1);
+        Arrays.fill(cacheF, -1);
+        vars[FALSE] = TERMINAL;
+        vars[TRUE] = TERMINAL;
+        size = 2;
+    }
+
+    /**
+     * Returns the number of nodes, including the terminal ones.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the node which represents the given formula.
+     *
+     * @param wff the formula
+     * @return the formula's node
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public int build(final WellFormedFormula wff) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        if (wff instanceof AtomicCondition atom) {
+            final int level = levels.computeIfAbsent(atom.getValue(), k -> {
+                symbols.add(k);
+                return symbols.size() - 1;
+            });
+            return mk(level, FALSE, TRUE);
+        } else if (wff instanceof Negation negation) {
+            return not(build(negation.wff()));
+        } else if (wff instanceof Conjunction conjunction) {
+            return and(build(conjunction.wff1()), build(conjunction.wff2()));
+        } else if (wff instanceof Disjunction disjunction) {
+            return ite(build(disjunction.wff1()), TRUE, build(disjunction.wff2()));
+        } else if (wff instanceof Conditional conditional) {
+            return ite(build(conditional.wff1()), build(conditional.wff2()), TRUE);
+        }
+        throw new IllegalArgumentException("unsupported formula " + wff);
+    }
+
+    /**
+     * Returns the conjunction of the given nodes.
+     *
+     * @param f the first node
+     * @param g the second node
+     * @return the conjunction of the given nodes
+     */
+    public int and(final int f, final int g) {
+        return ite(f, g, FALSE);
+    }
+
+    /**
+     * Returns the negation of the given node.
+     *
+     * @param f the node
+     * @return the negation of the given node
+     */
+    public int not(final int f) {
+        return ite(f, FALSE, TRUE);
+    }
+
+    /**
+     * Returns the node which represents "if f then g else h".
+     *
+     * @param f the condition
+     * @param g the node if f is true
+     * @param h the node if f is false
+     * @return the if-then-else of the given nodes
+     */
+    public int ite(final int f, final int g, final int h) {
+        if (f == TRUE) return g;
+        if (f == FALSE) return h;
+        if (g == h) return g;
+        if (g == TRUE && h == FALSE) return f;
+
+        final int slot = hash(f, g, h) & (CACHE_SIZE - 1);
+        if (cacheF[slot] == f && cacheG[slot] == g && cacheH[slot] == h) {
+            return cacheR[slot];
+        }
+
+        final int v = Math.min(vars[f], Math.min(vars[g], vars[h]));
+        final int high = ite(cofactor(f, v, true), cofactor(g, v, true), cofactor(h, v, true));
+        final int low = ite(cofactor(f, v, false), cofactor(g, v, false), cofactor(h, v, false));
+        final int r = mk(v, low, high);
+
+        cacheF[slot] = f;
+        cacheG[slot] = g;
+        cacheH[slot] = h;
+        cacheR[slot] = r;
+        return r;
+    }
+
+    /**
+     * Returns a valuation of the variables, which makes the given node true.
+     *
+     * @param f the node
+     * @return the variables' truth-values along a path to {@link #TRUE}, or {@code null} if f is {@link #FALSE}
+     */
+    public Map<String, Boolean> findModel(int f) {
+        if (f == FALSE) {
+            return null;
+        }
+        // in a reduced diagram every node but FALSE leads to TRUE
+        final Map<String, Boolean> model = new HashMap<>();
+        while (f != TRUE) {
+            final boolean high = lows[f] == FALSE;
+            model.put(symbols.get(vars[f]), high);
+            f = high ? highs[f] : lows[f];
+        }
+        return model;
+    }
+
+    private int cofactor(final int f, final int v, final boolean high) {
+        if (vars[f] != v) return f;
+        return high ? highs[f] : lows[f];
+    }
+
+    /**
+     * Returns the unique node with the given variable and children.
+     */
+    private int mk(final int v, final int low, final int high) {
+        if (low == high) return low;
+
+        int slot = hash(v, low, high) & (table.length - 1);
+        int node;
+        while ((node = table[slot]) != -1) {
+            if (vars[node] == v && lows[node] == low && highs[node] == high) {
+                return node;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+
+        if (size == vars.length) {
+            vars = Arrays.copyOf(vars, 2 * size);
+            lows = Arrays.copyOf(lows, 2 * size);
+            highs = Arrays.copyOf(highs, 2 * size);
+        }
+        node = size++;
+        vars[node] = v;
+        lows[node] = low;
+        highs[node] = high;
+        table[slot] = node;
+        if (2 * size > table.length) {
+            rehash();
+        }
+        return node;
+    }
+
+    private void rehash() {
+        table = new int[2 * table.length];
+        Arrays.fill(table, -1);
+        for (int node = 2; node < size; node++) {
+            int slot = hash(vars[node], lows[node], highs[node]) & (table.length - 1);
+            while (table[slot] != -1) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = node;
+        }
+    }
+
+    private static int hash(final int a, final int b, final int c) {
+        int h = a * 0x9E3779B1 + b;
+        h = h * 0x9E3779B1 + c;
+        return h ^ (h >>> 16);
+    }
+}
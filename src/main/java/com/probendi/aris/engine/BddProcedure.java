@@ -0,0 +1,94 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.formula.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A decision procedure which represents the formulae as reduced ordered binary decision diagrams.
+ * <p>
+ * All the formulae share the same {@link Bdd}, so that the nodes built while asserting or validating an argument are
+ * reused by the following ones, as long as the diagrams do not exceed {@link #MAX_NODES} nodes. Since the diagrams are
+ * shared, the formulae are decided one at a time even if several threads use the procedure.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class BddProcedure implements DecisionProcedure {
+
+    /**
+     * The number of nodes beyond which the diagrams are discarded.
+     */
+    public static final int MAX_NODES = 1 << 22;
+
+    private final Bdd bdd = new Bdd();
+
+    /**
+     * Returns the manager of the diagrams.
+     *
+     * @return the manager of the diagrams
+     */
+    public Bdd getBdd() {
+        return bdd;
+    }
+
+    /**
+     * Returns {@code true} if the given formulae are equivalent.
+     *
+     * @param wff1 the first formula
+     * @param wff2 the second formula
+     * @return {@code true} if the given formulae are equivalent
+     * @throws IllegalArgumentException if a wff is {@code null}
+     */
+    public synchronized boolean isEquivalent(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        if (wff1 == null) {
+            throw new IllegalArgumentException("wff1 cannot be null");
+        }
+        if (wff2 == null) {
+            throw new IllegalArgumentException("wff2 cannot be null");
+        }
+        checkSize();
+        return bdd.build(wff1) == bdd.build(wff2);
+    }
+
+    @Override
+    public synchronized boolean isTautology(final Argument argument) {
+        if (argument == null) {
+            throw new IllegalArgumentException("argument cannot be null");
+        }
+        if (argument.getConclusion() != null || argument.getPremises().size() != 1) {
+            final String msg = "this method can be only invoked on arguments without conclusion and exactly one premises";
+            throw new UnsupportedOperationException(msg);
+        }
+        checkSize();
+        return bdd.build(argument.getPremises().get(0)) == Bdd.TRUE;
+    }
+
+    @Override
+    public synchronized Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        checkSize();
+        int f = Bdd.TRUE;
+        for (final WellFormedFormula wff : formulae) {
+            f = bdd.and(f, bdd.build(wff));
+            if (f == Bdd.FALSE) {
+                return null;
+            }
+        }
+
+        // the symbols which do not occur along the path are irrelevant
+        final Map<String, Boolean> model = bdd.findModel(f);
+        for (final String symbol : WellFormedFormula.collectSymbols(formulae)) {
+            model.putIfAbsent(symbol, false);
+        }
+        return model;
+    }
+
+    private void checkSize() {
+        if (bdd.size() > MAX_NODES) {
+            bdd.clear();
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.formula.Argument;
+import com.probendi.aris.formula.WellFormedFormula;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A decision procedure which caches the validations and the assertions of another one.
+ * <p>
+ * The results are keyed by the canonical form of the arguments, in which the premises are sorted and deduplicated, so
+ * that the same argument is never decided twice, whatever its name and the order of its premises. The most recently
+ * used results are kept in memory, and can also be persisted to a file, so that they are shared by several runs. The
+ * file holds one result per line, which is appended as soon as the result is computed. Only the offset of every line
+ * and the hash of its key are kept in memory, and a line is read again when a key with the same hash is looked up.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class CachingProcedure implements DecisionProcedure, Closeable {
+
+    /**
+     * The default number of results kept in memory.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final char VALIDATION = 'V';
+    private static final char ASSERTION = 'T';
+
+    private final DecisionProcedure procedure;
+    private final Map<String, Boolean> results;
+    private final FileChannel channel;
+    private long end; // the position after the last line of the file
+
+    // the lines of the file, in an open addressing table of the hashes of their keys, their offsets and their lengths,
+    // in which a length of 0 means an empty slot, for a line is never empty
+    private int[] hashes = new int[16];
+    private long[] offsets = new long[16];
+    private int[] lengths = new int[16];
+    private int lines;
+    private int hits;
+    private int misses;
+
+    /**
+     * Creates a new cache of the given decision procedure, which keeps the given number of results in memory.
+     *
+     * @param procedure the decision procedure
+     * @param capacity  the number of results kept in memory
+     * @throws IllegalArgumentException if procedure is {@code null} or capacity is not positive
+     */
+    public CachingProcedure(final DecisionProcedure procedure, final int capacity) {
+        if (procedure == null) {
+            throw new IllegalArgumentException("procedure cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.procedure = procedure;
+        results = lru(capacity);
+        channel = null;
+    }
+
+    /**
+     * Creates a new cache of the given decision procedure, which keeps the given number of results in memory and
+     * persists all the results to the given file.
+     *
+     * @param procedure the decision procedure
+     * @param capacity  the number of results kept in memory
+     * @param file      the file, which is created if it does not exist
+     * @throws IllegalArgumentException if procedure or file is {@code null}, or capacity is not positive
+     * @throws IOException              if the file cannot be opened or read
+     */
+    public CachingProcedure(final DecisionProcedure procedure, final int capacity, final Path file)
+            throws IOException {
+        if (procedure == null) {
+            throw new IllegalArgumentException("procedure cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null");
+        }
+        this.procedure = procedure;
+        results = lru(capacity);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            load();
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the canonical form of the given argument, in which the premises are sorted and deduplicated.
+     *
+     * @param argument the argument
+     * @return the canonical form
+     * @throws IllegalArgumentException if argument is {@code null}
+     */
+    public static String canonicalForm(final Argument argument) {
+        if (argument == null) {
+            throw new IllegalArgumentException("argument cannot be null");
+        }
+        final SortedSet<String> premises = new TreeSet<>();
+        for (final WellFormedFormula premise : argument.getPremises()) {
+            premises.add(premise.toString());
+        }
+        final String s = String.join(", ", premises);
+        return argument.getConclusion() == null ? s : s + " ∴ " + argument.getConclusion();
+    }
+
+    /**
+     * Returns a map which evicts the least recently used entry beyond the given capacity.
+     *
+     * @param capacity the capacity
+     * @return the map
+     */
+    private static Map<String, Boolean> lru(final int capacity) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Indexes the lines of the file, and discards the last line if it is incomplete, e.g., because a previous run
+     * crashed while appending it.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private void load() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long position = 0;
+        long start = 0;
+        while (channel.read(buffer.clear(), position) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                final byte b = buffer.get();
+                position++;
+                if (b == '\n') {
+                    // a line holds the kind of the result, the result and the canonical form, e.g., V 1 P, Q ∴ Q
+                    final String s = line.toString(StandardCharsets.UTF_8);
+                    if (s.length() > 4 && s.charAt(1) == ' ' && s.charAt(3) == ' ') {
+                        index((s.charAt(0) + s.substring(4)).hashCode(), start, line.size());
+                    }
+                    line.reset();
+                    start = position;
+                } else {
+                    line.write(b);
+                }
+            }
+        }
+        channel.truncate(start);
+        end = start;
+    }
+
+    /**
+     * Adds the given line of the file to the table.
+     *
+     * @param hash   the hash of the line's key
+     * @param offset the offset of the line
+     * @param length the length of the line in bytes, excluding the line terminator
+     */
+    private void index(final int hash, final long offset, final int length) {
+        if (2 * (lines + 1) > hashes.length) {
+            final int[] oldHashes = hashes;
+            final long[] oldOffsets = offsets;
+            final int[] oldLengths = lengths;
+            hashes = new int[2 * oldHashes.length];
+            offsets = new long[2 * oldHashes.length];
+            lengths = new int[2 * oldHashes.length];
+            lines = 0;
+            for (int i = 0; i < oldHashes.length; i++) {
+                if (oldLengths[i] != 0) {
+                    index(oldHashes[i], oldOffsets[i], oldLengths[i]);
+                }
+            }
+        }
+        final int mask = hashes.length - 1;
+        int i = hash & mask;
+        while (lengths[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        hashes[i] = hash;
+        offsets[i] = offset;
+        lengths[i] = length;
+        lines++;
+    }
+
+    /**
+     * Returns the result with the given key stored in the file.
+     *
+     * @param key the key
+     * @return the result, or {@code null} if the file does not hold the key
+     * @throws IOException if the file cannot be read
+     */
+    private Boolean read(final String key) throws IOException {
+        final int hash = key.hashCode();
+        final int mask = hashes.length - 1;
+        for (int i = hash & mask; lengths[i] != 0; i = (i + 1) & mask) {
+            if (hashes[i] != hash) {
+                continue;
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate(lengths[i]);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offsets[i] + buffer.position()) < 0) {
+                    throw new IOException("unexpected end of file");
+                }
+            }
+            final String line = new String(buffer.array(), StandardCharsets.UTF_8);
+            if (line.charAt(0) == key.charAt(0) && line.length() - 3 == key.length()
+                    && line.regionMatches(4, key, 1, key.length() - 1)) {
+                return line.charAt(2) == '1';
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Appends the given result to the file.
+     *
+     * @param key    the key
+     * @param result the result
+     * @throws IOException if the file cannot be written
+     */
+    private void store(final String key, final boolean result) throws IOException {
+        final byte[] bytes = (key.charAt(0) + (result ? " 1 " : " 0 ") + key.substring(1) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, end + buffer.position());
+        }
+        index(key.hashCode(), end, bytes.length - 1);
+        end += bytes.length;
+    }
+
+    /**
+     * Returns the number of results found in the cache.
+     *
+     * @return the number of results found in the cache
+     */
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of results which were not found in the cache.
+     *
+     * @return the number of results which were not found in the cache
+     */
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    @Override
+    public Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        return procedure.findModel(formulae);
+    }
+
+    @Override
+    public boolean isSatisfiable(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        return procedure.isSatisfiable(formulae);
+    }
+
+    @Override
+    public Map<String, Boolean> findCounterModel(final Argument argument) throws MissingSymbolException {
+        return procedure.findCounterModel(argument);
+    }
+
+    @Override
+    public boolean isValid(final Argument argument) throws MissingSymbolException {
+        final String key = VALIDATION + canonicalForm(argument);
+        final Boolean result = get(key);
+        if (result != null) {
+            return result;
+        }
+        final boolean b = procedure.isValid(argument);
+        put(key, b);
+        return b;
+    }
+
+    @Override
+    public boolean isTautology(final Argument argument) throws MissingSymbolException {
+        final String key = ASSERTION + canonicalForm(argument);
+        final Boolean result = get(key);
+        if (result != null) {
+            return result;
+        }
+        final boolean b = procedure.isTautology(argument);
+        put(key, b);
+        return b;
+    }
+
+    /**
+     * Closes the file, if any, which already holds all the results.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Returns the result with the given key, which is looked up in memory and then in the file, if any.
+     *
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    private synchronized Boolean get(final String key) {
+        Boolean result = results.get(key);
+        if (result == null && channel != null) {
+            try {
+                result = read(key);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (result != null) {
+                results.put(key, result);
+            }
+        }
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    /**
+     * Puts the given result in memory, and appends it to the file, if any, unless another thread already did.
+     *
+     * @throws UncheckedIOException if the file cannot be read or written
+     */
+    private synchronized void put(final String key, final boolean result) {
+        results.put(key, result);
+        if (channel != null) {
+            try {
+                if (read(key) == null) {
+                    store(key, result);
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.formula.Argument;
+import com.probendi.aris.formula.Negation;
+import com.probendi.aris.formula.WellFormedFormula;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A decision procedure, which determines whether a set of well-formed formulae can be all true at once.
+ * <p>
+ * Decision procedures are thread-safe, so that several arguments can be validated concurrently.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public interface DecisionProcedure {
+
+    /**
+     * Returns a valuation which makes all the given formulae true.
+     *
+     * @param formulae the formulae
+     * @return the symbols' truth-values which make all the given formulae true, or {@code null} if there is no such
+     * valuation
+     * @throws IllegalArgumentException if formulae is {@code null}
+     * @throws MissingSymbolException   if a formula could not be evaluated because a symbol has no value
+     */
+    Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) throws MissingSymbolException;
+
+    /**
+     * Returns {@code true} if there is a valuation which makes all the given formulae true.
+     * <p>
+     * Unlike {@link #findModel(List)}, any such valuation will do, hence a procedure which searches several
+     * valuations concurrently can stop as soon as any of them is found.
+     *
+     * @param formulae the formulae
+     * @return {@code true} if the given formulae can be all true at once
+     * @throws IllegalArgumentException if formulae is {@code null}
+     * @throws MissingSymbolException   if a formula could not be evaluated because a symbol has no value
+     */
+    default boolean isSatisfiable(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        return findModel(formulae) != null;
+    }
+
+    /**
+     * Returns a valuation which makes the premises and the negated conclusion of the given argument all true.
+     *
+     * @param argument the argument
+     * @return the symbols' truth-values which make the given argument invalid, or {@code null} if it is valid
+     * @throws IllegalArgumentException if argument is {@code null}
+     * @throws MissingSymbolException   if a formula could not be evaluated because a symbol has no value
+     */
+    default Map<String, Boolean> findCounterModel(final Argument argument) throws MissingSymbolException {
+        return findModel(getCounterFormulae(argument));
+    }
+
+    /**
+     * Returns {@code true} if the given argument is valid.
+     *
+     * @param argument the argument
+     * @return {@code true} if the given argument is valid
+     * @throws IllegalArgumentException if argument is {@code null}
+     * @throws MissingSymbolException   if a formula could not be evaluated because a symbol has no value
+     */
+    default boolean isValid(final Argument argument) throws MissingSymbolException {
+        return !isSatisfiable(getCounterFormulae(argument));
+    }
+
+    /**
+     * Returns {@code true} if the sole premise of the given argument, which has no conclusion, is a tautology.
+     *
+     * @param argument the argument
+     * @return {@code true} if the given argument's premise is a tautology
+     * @throws IllegalArgumentException      if argument is {@code null}
+     * @throws UnsupportedOperationException if the given argument has a conclusion, or not exactly one premise
+     * @throws MissingSymbolException   if a formula could not be evaluated because a symbol has no value
+     */
+    default boolean isTautology(final Argument argument) throws MissingSymbolException {
+        if (argument == null) {
+            throw new IllegalArgumentException("argument cannot be null");
+        }
+        if (argument.getConclusion() != null || argument.getPremises().size() != 1) {
+            final String msg = "this method can be only invoked on arguments without conclusion and exactly one premises";
+            throw new UnsupportedOperationException(msg);
+        }
+        return !isSatisfiable(List.of(new Negation(argument.getPremises().get(0))));
+    }
+
+    /**
+     * Returns the negated conclusion and the premises of the given argument.
+     *
+     * @param argument the argument
+     * @return the formulae which are all true in the counter models of the given argument
+     * @throws IllegalArgumentException if argument is {@code null}
+     */
+    private static List<WellFormedFormula> getCounterFormulae(final Argument argument) {
+        if (argument == null) {
+            throw new IllegalArgumentException("argument cannot be null");
+        }
+        final List<WellFormedFormula> formulae = new LinkedList<>();
+        formulae.add(new Negation(argument.getConclusion()));
+        formulae.addAll(argument.getPremises());
+        return formulae;
+    }
+}
@@ -0,0 +1,92 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.formula.FormulaFactory;
+import com.probendi.aris.formula.Valuation;
+import com.probendi.aris.formula.WellFormedFormula;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A decision procedure which assigns the symbols one at a time, and valuates the formulae against the partial
+ * valuation, by the rules of Kleene's three-valued logic, after every assignment.
+ * <p>
+ * As soon as a formula is false, every valuation which extends the partial one is abandoned, and as soon as all the
+ * formulae are true, the remaining symbols can take any value. The formulae which are true are not valuated again in
+ * the subtree. Unlike {@link SatProcedure}, the formulae are not converted to conjunctive normal form.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class DpllProcedure implements DecisionProcedure {
+
+    @Override
+    public Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        if (formulae.isEmpty()) {
+            return new HashMap<>();
+        }
+        // the formulae are interned by a new factory, so that their atomic conditions are indexed by its symbol table
+        final FormulaFactory factory = new FormulaFactory();
+        final List<WellFormedFormula> interned = new ArrayList<>(formulae.size());
+        for (final WellFormedFormula wff : formulae) {
+            interned.add(factory.intern(wff));
+        }
+        final List<String> symbols = new ArrayList<>(WellFormedFormula.collectSymbols(interned));
+        final Valuation values = new Valuation(factory.getSymbols());
+        final int[] indices = new int[symbols.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = factory.getSymbols().indexOf(symbols.get(i));
+        }
+        if (!search(interned, values, indices, 0)) {
+            return null;
+        }
+        final Map<String, Boolean> model = new HashMap<>();
+        for (int i = 0; i < indices.length; i++) {
+            model.put(symbols.get(i), values.get(indices[i]));
+        }
+        return model;
+    }
+
+    /**
+     * Searches a valuation which makes all the given formulae true, and extends the given one.
+     *
+     * @param formulae the formulae which are not true yet
+     * @param values   the partial valuation, which is extended in place
+     * @param indices  the indices of the symbols, in the order in which they are assigned
+     * @param next     the position of the next symbol to be assigned
+     * @return {@code true} if a valuation was found, in which case the symbols left unknown are false
+     */
+    private static boolean search(final List<WellFormedFormula> formulae, final Valuation values, final int[] indices,
+                                  final int next) {
+        final List<WellFormedFormula> open = new ArrayList<>(formulae.size());
+        for (final WellFormedFormula wff : formulae) {
+            final int v = wff.valuatePartially(values);
+            if (v == Valuation.FALSE) {
+                return false;
+            }
+            if (v == Valuation.UNKNOWN) {
+                open.add(wff);
+            }
+        }
+        if (open.isEmpty()) {
+            return true;
+        }
+        // a formula is unknown only if one of its symbols is, hence there is always a symbol left
+        final int index = indices[next];
+        values.set(index, false);
+        if (search(open, values, indices, next + 1)) {
+            return true;
+        }
+        values.set(index, true);
+        if (search(open, values, indices, next + 1)) {
+            return true;
+        }
+        values.clear(index);
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.probendi.aris.engine;
+
+import java.util.function.Supplier;
+
+/**
+ * The available decision procedures.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public enum Engine {
+
+    /**
+     * Enumerates all the rows of a bit-parallel truth table.
+     */
+    TRUTH_TABLE(TruthTableProcedure::new),
+
+    /**
+     * Enumerates all the rows of a bit-parallel truth table on all the available processors.
+     */
+    PARALLEL(ParallelTruthTableProcedure::new),
+
+    /**
+     * Decides satisfiability with a conflict-driven clause-learning SAT solver.
+     */
+    SAT(SatProcedure::new),
+
+    /**
+     * Represents the formulae as reduced ordered binary decision diagrams, which are shared across invocations.
+     */
+    BDD(BddProcedure::new),
+
+    /**
+     * Enumerates the rows of the truth table in Gray-code order, recomputing only the subformulae affected by the
+     * atom which flips at every step.
+     */
+    GRAY_CODE(GrayCodeProcedure::new),
+
+    /**
+     * Assigns the symbols one at a time, and abandons a partial valuation as soon as a formula is false in it.
+     */
+    DPLL(DpllProcedure::new),
+
+    /**
+     * Grows an analytic tableau, whose branches are closed as soon as they hold an atom and its negation.
+     */
+    TABLEAU(TableauProcedure::new);
+
+    private final Supplier<DecisionProcedure> supplier;
+
+    Engine(final Supplier<DecisionProcedure> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Returns the engine with the given name, e.g., {@code truth-table}.
+     *
+     * @param name the engine's name
+     * @return the engine with the given name
+     * @throws IllegalArgumentException if name is {@code null} or there is no engine with the given name
+     */
+    public static Engine of(final String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("name cannot be null");
+        }
+        return valueOf(name.toUpperCase().replace('-', '_'));
+    }
+
+    /**
+     * Creates a new decision procedure.
+     *
+     * @return a new decision procedure
+     */
+    public DecisionProcedure create() {
+        return supplier.get();
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,66 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.formula.FormulaNetwork;
+import com.probendi.aris.formula.WellFormedFormula;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A decision procedure which enumerates the rows of the truth table in Gray-code order over a {@link FormulaNetwork}.
+ * <p>
+ * Two consecutive rows differ in exactly one symbol, hence every step flips one atom of the network, which recomputes
+ * only the subformulae on the paths from that atom to the root. The rows are valuated one at a time, hence this
+ * procedure pays off on formulae which are much larger than their number of symbols.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class GrayCodeProcedure implements DecisionProcedure {
+
+    /**
+     * The maximum number of symbols of the formulae.
+     */
+    public static final int MAX_SYMBOLS = 62;
+
+    @Override
+    public Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        if (formulae.isEmpty()) {
+            return new HashMap<>();
+        }
+        final FormulaNetwork network = new FormulaNetwork(formulae);
+        final int n = network.getSymbols().size();
+        if (n > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("formulae cannot contain more than " + MAX_SYMBOLS + " symbols");
+        }
+        for (int i = 0; i < n; i++) {
+            network.set(i, false);
+        }
+        // the i-th row is i ^ (i >>> 1), which differs from the previous one in the lowest bit set in i
+        long row = 0;
+        if (network.getValue()) {
+            return getRow(network, row);
+        }
+        for (long i = 1; i < 1L << n; i++) {
+            final int slot = Long.numberOfTrailingZeros(i);
+            row ^= 1L << slot;
+            network.set(slot, (row >>> slot & 1) == 1);
+            if (network.getValue()) {
+                return getRow(network, row);
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Boolean> getRow(final FormulaNetwork network, final long row) {
+        final Map<String, Boolean> values = new HashMap<>();
+        for (int i = 0; i < network.getSymbols().size(); i++) {
+            values.put(network.getSymbols().get(i), (row >>> i & 1) == 1);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,103 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.formula.TruthTable;
+import com.probendi.aris.formula.WellFormedFormula;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A decision procedure which splits the rows of a bit-parallel {@link TruthTable} into ranges, and valuates them
+ * concurrently on a {@link ForkJoinPool}.
+ * <p>
+ * The pool is either supplied by the caller, who is responsible for shutting it down, or created by this procedure,
+ * which shuts it down when it is closed.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class ParallelTruthTableProcedure implements DecisionProcedure, AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final boolean bytecode;
+    private final boolean owned;
+
+    /**
+     * Creates a new parallel decision procedure, whose parallelism is the number of available processors.
+     */
+    public ParallelTruthTableProcedure() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new parallel decision procedure with the given parallelism.
+     *
+     * @param parallelism the number of threads
+     * @throws IllegalArgumentException if parallelism is not positive
+     */
+    public ParallelTruthTableProcedure(final int parallelism) {
+        this(parallelism, false);
+    }
+
+    /**
+     * Creates a new parallel decision procedure with the given parallelism.
+     *
+     * @param parallelism the number of threads
+     * @param bytecode    {@code true} if the formulae of large truth tables must be translated into bytecode
+     * @throws IllegalArgumentException if parallelism is not positive
+     */
+    public ParallelTruthTableProcedure(final int parallelism, final boolean bytecode) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        pool = new ForkJoinPool(parallelism);
+        this.bytecode = bytecode;
+        owned = true;
+    }
+
+    /**
+     * Creates a new parallel decision procedure, which valuates the ranges on the given pool.
+     *
+     * @param pool     the pool, which is not shut down when this procedure is closed
+     * @param bytecode {@code true} if the formulae of large truth tables must be translated into bytecode
+     * @throws IllegalArgumentException if pool is {@code null}
+     */
+    public ParallelTruthTableProcedure(final ForkJoinPool pool, final boolean bytecode) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+        this.pool = pool;
+        this.bytecode = bytecode;
+        owned = false;
+    }
+
+    /**
+     * Returns the number of threads.
+     *
+     * @return the number of threads
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        return TruthTable.of(formulae, bytecode).findModel(formulae, pool);
+    }
+
+    @Override
+    public boolean isSatisfiable(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        return TruthTable.of(formulae, bytecode).isSatisfiable(formulae, pool);
+    }
+
+    /**
+     * Shuts down the pool, if it was created by this procedure.
+     */
+    @Override
+    public void close() {
+        if (owned) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.formula.Cnf;
+import com.probendi.aris.formula.TseitinEncoder;
+import com.probendi.aris.formula.WellFormedFormula;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A decision procedure which converts the formulae to conjunctive normal form by a {@link TseitinEncoder} and decides
+ * their satisfiability with a {@link SatSolver}.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class SatProcedure implements DecisionProcedure {
+
+    @Override
+    public Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) {
+        final Cnf cnf = TseitinEncoder.encode(formulae);
+        final SatSolver solver = new SatSolver(cnf.getVariables());
+        for (int i = 0; i < cnf.getClauses(); i++) {
+            solver.addClause(cnf.getClause(i));
+        }
+        if (!solver.solve()) {
+            return null;
+        }
+
+        final Map<String, Boolean> model = new HashMap<>();
+        for (final Map.Entry<String, Integer> entry : cnf.getSymbols().entrySet()) {
+            model.put(entry.getKey(), solver.getValue(entry.getValue()));
+        }
+        return model;
+    }
+}
@@ -0,0 +1,501 @@
+package com.probendi.aris.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A conflict-driven clause-learning (CDCL) SAT solver.
+ * <p>
+ * Variables are numbered from 1, and literals follow the DIMACS convention, i.e., {@code v} and {@code -v} are the
+ * positive and negative literals of variable {@code v}. The solver propagates by two watched literals, learns the
+ * first unique implication point of every conflict, branches on the variable with the highest VSIDS activity and
+ * restarts following the Luby sequence.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class SatSolver {
+
+    private static final byte FALSE = -1;
+    private static final byte TRUE = 1;
+    private static final byte UNDEFINED = 0;
+
+    private static final int NO_REASON = -1;
+    private static final int RESTART_BASE = 100;
+    private static final double VAR_DECAY = 0.95;
+
+    private final int variables;
+
+    private final List<int[]> clauses = new ArrayList<>();
+    private final IntList[] watches;
+
+    // the current assignment, indexed by variable
+    private final byte[] assigns;
+    private final int[] levels;
+    private final int[] reasons;
+    private final boolean[] phases;
+    private final boolean[] seen;
+
+    private final int[] trail;
+    private final IntList trailLimits = new IntList();
+    private int trailSize;
+    private int queueHead;
+
+    private final double[] activities;
+    private final VariableHeap heap;
+    private double increment = 1;
+
+    private boolean unsatisfiable;
+    private boolean[] model;
+
+    /**
+     * Creates a new SAT solver for the given number of variables.
+     *
+     * @param variables the number of variables
+     * @throws IllegalArgumentException if variables is negative
+     */
+    public SatSolver(final int variables) {
+        if (variables < 0) {
+            throw new IllegalArgumentException("variables cannot be negative");
+        }
+        this.variables = variables;
+        watches = new IntList[2 * variables];
+        for (int i = 0; i < watches.length; i++) {
+            watches[i] = new IntList();
+        }
+        assigns = new byte[variables];
+        levels = new int[variables];
+        reasons = new int[variables];
+        phases = new boolean[variables];
+        seen = new boolean[variables];
+        trail = new int[variables];
+        activities = new double[variables];
+        heap = new VariableHeap();
+        for (int v = 0; v < variables; v++) {
+            heap.insert(v);
+        }
+    }
+
+    /**
+     * Returns the number of variables.
+     *
+     * @return the number of variables
+     */
+    public int getVariables() {
+        return variables;
+    }
+
+    /**
+     * Adds the given clause, i.e., the disjunction of the given literals.
+     *
+     * @param literals the clause's literals
+     * @throws IllegalArgumentException if literals is {@code null} or contains an out of range literal
+     * @throws IllegalStateException    if the solver has already been run
+     */
+    public void addClause(final int... literals) {
+        if (literals == null) {
+            throw new IllegalArgumentException("literals cannot be null");
+        }
+        if (model != null || trailLimits.size() > 0) {
+            throw new IllegalStateException("clauses cannot be added once the solver has been run");
+        }
+        if (unsatisfiable) return;
+
+        // drop duplicated and false literals, and skip satisfied and tautological clauses
+        final IntList clause = new IntList();
+        for (final int literal : literals) {
+            if (literal == 0 || Math.abs(literal) > variables) {
+                throw new IllegalArgumentException("invalid literal " + literal);
+            }
+            final int lit = toInternal(literal);
+            final byte value = value(lit);
+            if (value == TRUE || clause.contains(lit ^ 1)) return;
+            if (value == UNDEFINED && !clause.contains(lit)) {
+                clause.add(lit);
+            }
+        }
+
+        if (clause.size() == 0) {
+            unsatisfiable = true;
+        } else if (clause.size() == 1) {
+            enqueue(clause.get(0), NO_REASON);
+            unsatisfiable = propagate() != NO_REASON;
+        } else {
+            attach(clause.toArray());
+        }
+    }
+
+    /**
+     * Determines whether the clauses added so far are satisfiable.
+     *
+     * @return {@code true} if the clauses are satisfiable
+     */
+    public boolean solve() {
+        if (model != null) return true;
+        if (unsatisfiable) return false;
+
+        int restarts = 0;
+        long limit = RESTART_BASE * luby(restarts);
+        long conflicts = 0;
+        while (true) {
+            final int conflict = propagate();
+            if (conflict != NO_REASON) {
+                if (trailLimits.size() == 0) {
+                    unsatisfiable = true;
+                    return false;
+                }
+                conflicts++;
+                final int[] learnt = analyze(conflict);
+                backtrack(backtrackLevel(learnt));
+                if (learnt.length == 1) {
+                    enqueue(learnt[0], NO_REASON);
+                } else {
+                    enqueue(learnt[0], attach(learnt));
+                }
+                increment /= VAR_DECAY;
+            } else if (conflicts >= limit) {
+                backtrack(0);
+                conflicts = 0;
+                limit = RESTART_BASE * luby(++restarts);
+            } else {
+                final int v = pickBranchVariable();
+                if (v == -1) {
+                    model = new boolean[variables];
+                    for (int i = 0; i < variables; i++) {
+                        model[i] = assigns[i] == TRUE;
+                    }
+                    return true;
+                }
+                trailLimits.add(trailSize);
+                enqueue(2 * v + (phases[v] ? 0 : 1), NO_REASON);
+            }
+        }
+    }
+
+    /**
+     * Returns the truth-value of the given variable in the model found by {@link #solve()}.
+     *
+     * @param variable the variable
+     * @return the variable's truth-value
+     * @throws IllegalArgumentException if variable is out of range
+     * @throws IllegalStateException    if no model has been found
+     */
+    public boolean getValue(final int variable) {
+        if (variable < 1 || variable > variables) {
+            throw new IllegalArgumentException("invalid variable " + variable);
+        }
+        if (model == null) {
+            throw new IllegalStateException("no model has been found");
+        }
+        return model[variable - 1];
+    }
+
+    private static int toInternal(final int literal) {
+        return literal > 0 ? 2 * (literal - 1) : 2 * (-literal - 1) + 1;
+    }
+
+    private byte value(final int lit) {
+        final byte value = assigns[lit >> 1];
+        return (lit & 1) == 0 ? value : (byte) -value;
+    }
+
+    private int attach(final int[] clause) {
+        final int index = clauses.size();
+        clauses.add(clause);
+        watches[clause[0]].add(index);
+        watches[clause[1]].add(index);
+        return index;
+    }
+
+    private void enqueue(final int lit, final int reason) {
+        final int v = lit >> 1;
+        assigns[v] = (lit & 1) == 0 ? TRUE : FALSE;
+        levels[v] = trailLimits.size();
+        reasons[v] = reason;
+        trail[trailSize++] = lit;
+    }
+
+    /**
+     * Propagates the enqueued literals.
+     *
+     * @return the conflicting clause, or {@code NO_REASON} if there is no conflict
+     */
+    private int propagate() {
+        while (queueHead < trailSize) {
+            final int falseLit = trail[queueHead++] ^ 1;
+            final IntList list = watches[falseLit];
+            final int[] ws = list.data;
+            final int n = list.size;
+            int i = 0;
+            int j = 0;
+            while (i < n) {
+                final int index = ws[i++];
+                final int[] c = clauses.get(index);
+                // make sure that the false literal is the second one
+                if (c[0] == falseLit) {
+                    c[0] = c[1];
+                    c[1] = falseLit;
+                }
+                if (value(c[0]) == TRUE) {
+                    ws[j++] = index;
+                    continue;
+                }
+                // look for a new literal to watch
+                boolean found = false;
+                for (int k = 2; k < c.length; k++) {
+                    if (value(c[k]) != FALSE) {
+                        c[1] = c[k];
+                        c[k] = falseLit;
+                        watches[c[1]].add(index);
+                        found = true;
+                        break;
+                    }
+                }
+                if (found) continue;
+
+                // the clause is unit or conflicting
+                ws[j++] = index;
+                if (value(c[0]) == FALSE) {
+                    while (i < n) {
+                        ws[j++] = ws[i++];
+                    }
+                    list.size = j;
+                    queueHead = trailSize;
+                    return index;
+                }
+                enqueue(c[0], index);
+            }
+            list.size = j;
+        }
+        return NO_REASON;
+    }
+
+    /**
+     * Analyzes the given conflict and returns the clause learnt at the first unique implication point, whose first
+     * literal is the asserting one.
+     *
+     * @param conflict the conflicting clause
+     * @return the learnt clause
+     */
+    private int[] analyze(final int conflict) {
+        final IntList learnt = new IntList();
+        learnt.add(0);
+        final int level = trailLimits.size();
+        int pending = 0;
+        int lit = -1;
+        int index = trailSize - 1;
+        int reason = conflict;
+        do {
+            final int[] c = clauses.get(reason);
+            for (int k = lit == -1 ? 0 : 1; k < c.length; k++) {
+                final int v = c[k] >> 1;
+                if (!seen[v] && levels[v] > 0) {
+                    bump(v);
+                    seen[v] = true;
+                    if (levels[v] >= level) {
+                        pending++;
+                    } else {
+                        learnt.add(c[k]);
+                    }
+                }
+            }
+            while (!seen[trail[index--] >> 1]) ;
+            lit = trail[index + 1];
+            reason = reasons[lit >> 1];
+            seen[lit >> 1] = false;
+            pending--;
+        } while (pending > 0);
+        learnt.set(0, lit ^ 1);
+
+        for (int k = 1; k < learnt.size(); k++) {
+            seen[learnt.get(k) >> 1] = false;
+        }
+        return learnt.toArray();
+    }
+
+    private int backtrackLevel(final int[] learnt) {
+        if (learnt.length == 1) return 0;
+        // the literal with the highest level must be watched along with the asserting one
+        int max = 1;
+        for (int k = 2; k < learnt.length; k++) {
+            if (levels[learnt[k] >> 1] > levels[learnt[max] >> 1]) {
+                max = k;
+            }
+        }
+        final int lit = learnt[max];
+        learnt[max] = learnt[1];
+        learnt[1] = lit;
+        return levels[lit >> 1];
+    }
+
+    private void backtrack(final int level) {
+        if (trailLimits.size() <= level) return;
+        final int limit = trailLimits.get(level);
+        for (int i = trailSize - 1; i >= limit; i--) {
+            final int v = trail[i] >> 1;
+            phases[v] = assigns[v] == TRUE;
+            assigns[v] = UNDEFINED;
+            if (!heap.contains(v)) {
+                heap.insert(v);
+            }
+        }
+        trailSize = limit;
+        queueHead = limit;
+        trailLimits.size = level;
+    }
+
+    private int pickBranchVariable() {
+        while (!heap.isEmpty()) {
+            final int v = heap.removeMax();
+            if (assigns[v] == UNDEFINED) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    private void bump(final int v) {
+        if ((activities[v] += increment) > 1e100) {
+            for (int i = 0; i < variables; i++) {
+                activities[i] *= 1e-100;
+            }
+            increment *= 1e-100;
+        }
+        if (heap.contains(v)) {
+            heap.increase(v);
+        }
+    }
+
+    /**
+     * Returns the i-th element of the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, ...
+     *
+     * @param i the index
+     * @return the i-th element of the Luby sequence
+     */
+    private static long luby(final int i) {
+        int size = 1;
+        int seq = 0;
+        while (size < i + 1) {
+            seq++;
+            size = 2 * size + 1;
+        }
+        int x = i;
+        while (size - 1 != x) {
+            size = (size - 1) >> 1;
+            seq--;
+            x = x % size;
+        }
+        return 1L << seq;
+    }
+
+    /**
+     * A growable list of primitive integers.
+     */
+    private static final class IntList {
+
+        private int[] data = new int[4];
+        private int size;
+
+        void add(final int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, 2 * size);
+            }
+            data[size++] = value;
+        }
+
+        boolean contains(final int value) {
+            for (int i = 0; i < size; i++) {
+                if (data[i] == value) return true;
+            }
+            return false;
+        }
+
+        int get(final int i) {
+            return data[i];
+        }
+
+        void set(final int i, final int value) {
+            data[i] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    /**
+     * A binary max-heap of variables ordered by activity.
+     */
+    private final class VariableHeap {
+
+        private final int[] heap = new int[variables];
+        private final int[] indices = new int[variables];
+        private int size;
+
+        VariableHeap() {
+            Arrays.fill(indices, -1);
+        }
+
+        boolean contains(final int v) {
+            return indices[v] >= 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void insert(final int v) {
+            heap[size] = v;
+            indices[v] = size;
+            up(size++);
+        }
+
+        void increase(final int v) {
+            up(indices[v]);
+        }
+
+        int removeMax() {
+            final int v = heap[0];
+            indices[v] = -1;
+            if (--size > 0) {
+                heap[0] = heap[size];
+                indices[heap[0]] = 0;
+                down(0);
+            }
+            return v;
+        }
+
+        private void up(int i) {
+            final int v = heap[i];
+            while (i > 0) {
+                final int parent = (i - 1) >> 1;
+                if (activities[heap[parent]] >= activities[v]) break;
+                heap[i] = heap[parent];
+                indices[heap[i]] = i;
+                i = parent;
+            }
+            heap[i] = v;
+            indices[v] = i;
+        }
+
+        private void down(int i) {
+            final int v = heap[i];
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && activities[heap[child + 1]] > activities[heap[child]]) {
+                    child++;
+                }
+                if (activities[heap[child]] <= activities[v]) break;
+                heap[i] = heap[child];
+                indices[heap[i]] = i;
+                i = child;
+            }
+            heap[i] = v;
+            indices[v] = i;
+        }
+    }
+}
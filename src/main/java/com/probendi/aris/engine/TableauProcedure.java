@@ -0,0 +1,179 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.formula.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A decision procedure which grows an analytic tableau, i.e., a truth tree, whose root holds the formulae signed true.
+ * <p>
+ * A signed formula is expanded by the same rules as {@link WellFormedFormula#determineTruthnessConditions()} and
+ * {@link WellFormedFormula#determineFalsehoodConditions()}, which are applied inline rather than by calling those
+ * methods: a rule with a single condition extends the branch, whereas a rule with several conditions splits it, e.g., a
+ * false conjunction splits into a branch where the first conjunct is false and one where the second conjunct is false.
+ * The overlapping conditions of a rule are merged into the same branch, e.g., a conjunction whose conjuncts are both
+ * false is covered by the first branch.
+ * <p>
+ * A branch is closed as soon as it holds an atom signed both true and false. The non-branching rules are applied
+ * first, and before a branch is split, the pending formulae which are already decided by the atoms on the branch are
+ * either discarded or close it, and the ones with a single open branch are expanded without splitting. The branches
+ * share the formulae of their common ancestors, which are never copied.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class TableauProcedure implements DecisionProcedure {
+
+    @Override
+    public Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        if (formulae.isEmpty()) {
+            return new HashMap<>();
+        }
+        // the formulae are interned by a new factory, so that their atomic conditions are indexed by its symbol table
+        final FormulaFactory factory = new FormulaFactory();
+        Node root = null;
+        for (int i = formulae.size() - 1; i >= 0; i--) {
+            root = new Node(factory.intern(formulae.get(i)), true, root);
+        }
+        final Branch branch = new Branch(new Valuation(factory.getSymbols()));
+        if (!branch.expand(root, null)) {
+            return null;
+        }
+        // the symbols which do not occur on the open branch can take any value
+        final Map<String, Boolean> model = new HashMap<>();
+        final SymbolTable symbols = factory.getSymbols();
+        for (int i = 0; i < symbols.size(); i++) {
+            model.put(symbols.getSymbol(i), branch.values.isKnown(i) && branch.values.get(i));
+        }
+        return model;
+    }
+
+    /**
+     * A signed formula, linked to the ones pending on the same branch, which are shared with the sibling branches.
+     */
+    private record Node(WellFormedFormula wff, boolean sign, Node next) {
+    }
+
+    /**
+     * The atoms on the branch being expanded, which are retracted when the search backtracks.
+     */
+    private static final class Branch {
+
+        private final Valuation values;
+        private int[] trail = new int[16];
+        private int size;
+
+        private Branch(final Valuation values) {
+            this.values = values;
+        }
+
+        /**
+         * Expands the branch until it is closed, or it is open and every formula on it has been expanded.
+         *
+         * @param linear    the formulae to be expanded by the non-branching rules, or atoms
+         * @param branching the formulae to be expanded by the branching rules
+         * @return {@code true} if an open branch was found, in which case its atoms are left in the valuation
+         */
+        private boolean expand(Node linear, Node branching) {
+            final int mark = size;
+            while (true) {
+                while (linear != null) {
+                    final WellFormedFormula wff = linear.wff;
+                    final boolean sign = linear.sign;
+                    linear = linear.next;
+                    if (wff instanceof AtomicCondition atom) {
+                        final int index = values.indexOf(atom);
+                        if (values.isKnown(index)) {
+                            if (values.get(index) != sign) {
+                                retract(mark);
+                                return false;
+                            }
+                        } else {
+                            values.set(index, sign);
+                            push(index);
+                        }
+                    } else if (wff instanceof Negation negation) {
+                        linear = new Node(negation.wff(), !sign, linear);
+                    } else if (wff instanceof Conjunction conjunction && sign) {
+                        linear = new Node(conjunction.wff1(), true, new Node(conjunction.wff2(), true, linear));
+                    } else if (wff instanceof Disjunction disjunction && !sign) {
+                        linear = new Node(disjunction.wff1(), false, new Node(disjunction.wff2(), false, linear));
+                    } else if (wff instanceof Conditional conditional && !sign) {
+                        linear = new Node(conditional.wff1(), true, new Node(conditional.wff2(), false, linear));
+                    } else {
+                        branching = new Node(wff, sign, branching);
+                    }
+                }
+
+                // the pending formulae decided by the atoms on the branch are not split, and the ones which precede
+                // the first undecided formula are dropped, whereas the ones which follow it are shared
+                Node first = null;
+                for (Node node = branching; node != null; node = node.next) {
+                    final int v = node.wff.valuatePartially(values);
+                    if (v == Valuation.UNKNOWN) {
+                        if (first == null) {
+                            first = node;
+                        }
+                    } else if ((v == Valuation.TRUE) != node.sign) {
+                        retract(mark);
+                        return false;
+                    }
+                }
+                if (first == null) {
+                    return true;
+                }
+                final Node pending = first.next;
+                final Node left = getBranch(first, true);
+                final Node right = getBranch(first, false);
+                if (left.wff.valuatePartially(values) == (left.sign ? Valuation.FALSE : Valuation.TRUE)) {
+                    linear = right;
+                    branching = pending;
+                } else if (right.wff.valuatePartially(values) == (right.sign ? Valuation.FALSE : Valuation.TRUE)) {
+                    linear = left;
+                    branching = pending;
+                } else {
+                    if (expand(left, pending) || expand(right, pending)) {
+                        return true;
+                    }
+                    retract(mark);
+                    return false;
+                }
+            }
+        }
+
+        private void push(final int index) {
+            if (size == trail.length) {
+                final int[] copy = new int[2 * size];
+                System.arraycopy(trail, 0, copy, 0, size);
+                trail = copy;
+            }
+            trail[size++] = index;
+        }
+
+        private void retract(final int mark) {
+            while (size > mark) {
+                values.clear(trail[--size]);
+            }
+        }
+    }
+
+    /**
+     * Returns the first or second branch of the branching rule of the given signed formula.
+     */
+    private static Node getBranch(final Node node, final boolean first) {
+        final WellFormedFormula wff = node.wff;
+        if (wff instanceof Conjunction conjunction) {
+            return new Node(first ? conjunction.wff1() : conjunction.wff2(), false, null);
+        } else if (wff instanceof Disjunction disjunction) {
+            return new Node(first ? disjunction.wff1() : disjunction.wff2(), true, null);
+        } else if (wff instanceof Conditional conditional) {
+            return first ? new Node(conditional.wff1(), false, null) : new Node(conditional.wff2(), true, null);
+        }
+        throw new IllegalArgumentException("unsupported formula " + wff);
+    }
+}
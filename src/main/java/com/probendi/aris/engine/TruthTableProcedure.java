@@ -0,0 +1,39 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.formula.TruthTable;
+import com.probendi.aris.formula.WellFormedFormula;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A decision procedure which enumerates all the rows of a bit-parallel {@link TruthTable}.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class TruthTableProcedure implements DecisionProcedure {
+
+    private final boolean bytecode;
+
+    /**
+     * Creates a new decision procedure, which interprets the formulae.
+     */
+    public TruthTableProcedure() {
+        this(false);
+    }
+
+    /**
+     * Creates a new decision procedure.
+     *
+     * @param bytecode {@code true} if the formulae of large truth tables must be translated into bytecode
+     */
+    public TruthTableProcedure(final boolean bytecode) {
+        this.bytecode = bytecode;
+    }
+
+    @Override
+    public Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        return TruthTable.of(formulae, bytecode).findModel(formulae);
+    }
+}
@@ -0,0 +1,65 @@
+package com.probendi.aris.formula;
+
+/**
+ * An evaluator which interprets a {@link CompiledFormula} until it has been invoked {@link #THRESHOLD} times, and
+ * then switches to a hidden class generated by {@link EvaluatorGenerator}.
+ * <p>
+ * Formulae with fewer than {@link #MIN_INSTRUCTIONS} instructions, or which cannot be translated, are always
+ * interpreted, for generating a class would not pay off. An adaptive evaluator can be invoked concurrently.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class AdaptiveEvaluator implements Evaluator {
+
+    /**
+     * The number of invocations after which the hidden class is generated.
+     */
+    public static final int THRESHOLD = 10_000;
+
+    /**
+     * The minimum number of instructions of a formula, for which the hidden class is generated.
+     */
+    public static final int MIN_INSTRUCTIONS = 16;
+
+    private final CompiledFormula program;
+    private volatile Evaluator generated;
+    private int invocations;
+
+    /**
+     * Creates a new adaptive evaluator of the given formula.
+     *
+     * @param program the formula
+     * @throws IllegalArgumentException if program is {@code null}
+     */
+    public AdaptiveEvaluator(final CompiledFormula program) {
+        if (program == null) {
+            throw new IllegalArgumentException("program cannot be null");
+        }
+        this.program = program;
+        // a negative count disables the generation
+        invocations = program.getCode().length < MIN_INSTRUCTIONS ? Integer.MIN_VALUE : 0;
+    }
+
+    /**
+     * Returns {@code true} if the hidden class has been generated.
+     *
+     * @return {@code true} if the hidden class has been generated
+     */
+    public boolean isGenerated() {
+        return generated != null;
+    }
+
+    @Override
+    public long evaluateWord(final long[] words, final long[] stack) {
+        final Evaluator evaluator = generated;
+        if (evaluator != null) {
+            return evaluator.evaluateWord(words, stack);
+        }
+        // the count is not synchronised, for losing a few invocations is harmless
+        if (invocations >= 0 && ++invocations >= THRESHOLD) {
+            invocations = Integer.MIN_VALUE;
+            generated = EvaluatorGenerator.generate(program);
+        }
+        return program.evaluateWord(words, stack);
+    }
+}
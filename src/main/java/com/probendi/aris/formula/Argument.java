@@ -92,26 +92,14 @@ public class Argument implements WellFormedFormula {
         }
 
         final WellFormedFormula wff = getPremises().get(0);
-        final Set<String> vars = new HashSet<>();
-        for (final Condition condition : wff.determineTruthnessConditions()) {
-            for (final Condition atomicCondition : getAtomicConditions(condition)) {
-                vars.add(((AtomicCondition) atomicCondition).getValue());
-            }
-        }
-
-        for (final Map<String, Boolean> values : generateTruthTable(vars)) {
-            try {
-                if (!wff.valuate(values)) {
-                    return false;
-                }
-            } catch (final MissingSymbolException ignore) { // ignored, for values is always complete
-            }
+        try {
+            // a formula is a tautology if there is no valuation which makes its negation true
+            return TruthTable.of(List.of(wff)).findModel(List.of(new Negation(wff))) == null;
+        } catch (final MissingSymbolException e) { // this should never happen, for the truth table is always complete
+            throw new IllegalStateException(e);
         }
-
-        return true;
     }
 
-
     /**
      * Returns {@code true} if this argument is valid, i.e., if there is a relevant valuation which makes the premises
      * and the negated conclusion all true.
@@ -120,38 +108,40 @@ public class Argument implements WellFormedFormula {
      * @throws MissingSymbolException if a symbol is not found in the values lookup table
      */
     public boolean isValid() throws MissingSymbolException {
-        final List<WellFormedFormula> formulae = new LinkedList<>();
-        formulae.add(new Negation(conclusion));
-        formulae.addAll(premises);
+        return findCounterExample() == null;
+    }
 
-        final Set<String> vars = new HashSet<>();
-        for (final WellFormedFormula wff : formulae) {
-            for (final Condition condition : wff.determineTruthnessConditions()) {
-                for (final Condition atomicCondition : getAtomicConditions(condition)) {
-                    vars.add(((AtomicCondition) atomicCondition).getValue());
-                }
-            }
-        }
+    /**
+     * Returns the first valuation which makes the premises true and the conclusion false.
+     *
+     * @return the symbols' truth-values of the first counter-example, or {@code null} if this argument is valid
+     * @throws MissingSymbolException if a symbol is not found in the values lookup table
+     */
+    public Map<String, Boolean> findCounterExample() throws MissingSymbolException {
+        final List<WellFormedFormula> formulae = getCounterFormulae();
+        // a configuration which makes the premises and the negated conclusion all true proves the argument invalid
+        return TruthTable.of(formulae).findModel(formulae);
+    }
 
-        // iterate over all possible input variables configurations
-        for (final Map<String, Boolean> values : generateTruthTable(vars)) {
-            boolean valid = true;
-            // valuate all formulae for a given input variables configuration
-            for (final WellFormedFormula wff : formulae) {
-                if (!wff.valuate(values)) {
-                    // if one formula is false, then move on to the next input variables configuration
-                    valid = false;
-                    break;
-                }
-            }
-            // an input variables configuration which makes the premises and the negated conclusion all true was found
-            if (valid) {
-                return false;
-            }
-        }
+    /**
+     * Returns an iterator over all the valuations which make the premises true and the conclusion false.
+     * <p>
+     * The valuations are generated lazily, in the order of the truth table, and take constant memory, hence the
+     * counter-examples of an argument with many atoms can be paged through without materialising the truth table.
+     *
+     * @return an iterator over the symbols' truth-values of the counter-examples
+     * @throws MissingSymbolException if a symbol is not found in the values lookup table
+     */
+    public Iterator<Map<String, Boolean>> counterExamples() throws MissingSymbolException {
+        final List<WellFormedFormula> formulae = getCounterFormulae();
+        return TruthTable.of(formulae).models(formulae);
+    }
 
-        // no configuration was found, hence the argument is valid
-        return true;
+    private List<WellFormedFormula> getCounterFormulae() {
+        final List<WellFormedFormula> formulae = new LinkedList<>();
+        formulae.add(new Negation(conclusion));
+        formulae.addAll(premises);
+        return formulae;
     }
 
     @Override
@@ -174,6 +164,40 @@ public class Argument implements WellFormedFormula {
         return p & conclusion.valuate(values);
     }
 
+    @Override
+    public boolean valuate(final Valuation values) throws MissingSymbolException {
+        boolean p = true;
+        for (final WellFormedFormula premise : premises) {
+            p = premise.valuate(values);
+            if (!p) break;
+        }
+        return p & conclusion.valuate(values);
+    }
+
+    @Override
+    public int valuatePartially(final Valuation values) {
+        int v = Valuation.TRUE;
+        for (final WellFormedFormula premise : premises) {
+            final int p = premise.valuatePartially(values);
+            if (p == Valuation.FALSE) {
+                return Valuation.FALSE;
+            }
+            v = Math.min(v, p);
+        }
+        final int c = conclusion.valuatePartially(values);
+        return c == Valuation.FALSE ? Valuation.FALSE : Math.min(v, c);
+    }
+
+    @Override
+    public long valuateWord(final Map<String, Long> words) throws MissingSymbolException {
+        long p = -1L;
+        for (final WellFormedFormula premise : premises) {
+            p &= premise.valuateWord(words);
+            if (p == 0) break;
+        }
+        return p & conclusion.valuateWord(words);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -198,34 +222,4 @@ public class Argument implements WellFormedFormula {
         }
         return sb.isEmpty() ? "" : String.format("%s ∴ %s", sb.substring(0, sb.length() - 2), conclusion);
     }
-
-    private List<Map<String, Boolean>> generateTruthTable(final Set<String> vars) {
-        final List<String> varsList = new LinkedList<>(vars);
-        final List<Map<String, Boolean>> result = new LinkedList<>();
-        final int n = varsList.size();
-        for (int i = 0; n > 0 && i != (1 << n); i++) {
-            final StringBuilder sb = new StringBuilder(Integer.toBinaryString(i));
-            while (sb.length() != n) {
-                sb.insert(0, '0');
-            }
-            final Map<String, Boolean> map = new HashMap<>();
-            for (int j = 0; j < n; j++) {
-                map.put(varsList.get(j), sb.charAt(j) == '1');
-            }
-            result.add(map);
-        }
-        return result;
-    }
-
-    private List<Condition> getAtomicConditions(final Condition condition) {
-        final List<Condition> atomicConditions = new LinkedList<>();
-        if (condition instanceof AtomicCondition) {
-            atomicConditions.add(condition);
-        } else {
-            final BinaryCondition b = (BinaryCondition) condition;
-            atomicConditions.addAll(getAtomicConditions(b.c1()));
-            atomicConditions.addAll(getAtomicConditions(b.c2()));
-        }
-        return atomicConditions;
-    }
 }
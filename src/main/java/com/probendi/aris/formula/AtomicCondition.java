@@ -14,15 +14,70 @@ import java.util.Objects;
  */
 public class AtomicCondition extends Atom implements Condition, WellFormedFormula {
 
+    private final int index;
+    private final FormulaFactory factory;
+    private final int id;
     private Boolean boolValue;
 
     /**
-     * Creates a new atomic condition with the given value.
+     * Creates a new atomic condition with the given value, which has no index.
      *
      * @param value the value
      */
     public AtomicCondition(final String value) {
+        this(value, -1);
+    }
+
+    /**
+     * Creates a new atomic condition with the given value and the given index in a {@link SymbolTable}.
+     *
+     * @param value the value
+     * @param index the index, or -1 if the condition has no index
+     */
+    public AtomicCondition(final String value, final int index) {
+        this(value, index, null, -1);
+    }
+
+    /**
+     * Creates a new atomic condition with the given value and index, which is interned by the given factory.
+     *
+     * @param value   the value
+     * @param index   the index, or -1 if the condition has no index
+     * @param factory the factory, or {@code null} if the condition is not interned
+     * @param id      the id given by the factory, or -1 if the condition is not interned
+     */
+    AtomicCondition(final String value, final int index, final FormulaFactory factory, final int id) {
         super(value);
+        this.index = index;
+        this.factory = factory;
+        this.id = id;
+    }
+
+    /**
+     * Returns the index of this condition's symbol in a {@link SymbolTable}.
+     *
+     * @return the index, or -1 if this condition has no index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the factory which interned this condition.
+     *
+     * @return the factory, or {@code null} if this condition is not interned
+     */
+    FormulaFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Returns the id given by the factory which interned this condition.
+     *
+     * @return the id, or -1 if this condition is not interned
+     */
+    int getId() {
+        return id;
     }
 
     /**
@@ -66,6 +121,38 @@ public class AtomicCondition extends Atom implements Condition, WellFormedFormul
         return values.get(value);
     }
 
+    @Override
+    public boolean valuate(final Valuation values) throws MissingSymbolException {
+        if (values == null) {
+            throw new IllegalArgumentException("values cannot be null");
+        }
+        final int v = values.valueOf(this);
+        if (v == Valuation.UNKNOWN) {
+            throw new MissingSymbolException(value);
+        }
+        return v == Valuation.TRUE;
+    }
+
+    @Override
+    public int valuatePartially(final Valuation values) {
+        if (values == null) {
+            throw new IllegalArgumentException("values cannot be null");
+        }
+        return values.valueOf(this);
+    }
+
+    @Override
+    public long valuateWord(final Map<String, Long> words) throws MissingSymbolException {
+        if (words == null) {
+            throw new IllegalArgumentException("words cannot be null or empty");
+        }
+        final Long word = words.get(value);
+        if (word == null) {
+            throw new MissingSymbolException(value);
+        }
+        return word;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -74,6 +161,10 @@ public class AtomicCondition extends Atom implements Condition, WellFormedFormul
         if (!(o instanceof AtomicCondition atomic)) {
             return false;
         }
+        // distinct conditions interned by the same factory have different values
+        if (factory != null && factory == atomic.factory) {
+            return false;
+        }
         if (!super.equals(o)) {
             return false;
         }
@@ -0,0 +1,125 @@
+package com.probendi.aris.formula;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A set of clauses in conjunctive normal form.
+ * <p>
+ * The clauses are stored one after the other in a single array of literals, which follow the DIMACS convention, i.e.,
+ * {@code v} and {@code -v} are the positive and negative literals of variable {@code v}. Each symbol of the encoded
+ * formulae is mapped to a variable, whereas the remaining variables are auxiliary.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Cnf {
+
+    private final int variables;
+    private final int[] literals;
+    private final int[] offsets;
+    private final Map<String, Integer> symbols;
+
+    /**
+     * Creates a new set of clauses.
+     *
+     * @param variables the number of variables
+     * @param literals  the clauses' literals
+     * @param offsets   the offsets of the clauses within the literals, followed by the literals' length
+     * @param symbols   the symbols' variables
+     * @throws IllegalArgumentException if an argument is {@code null}
+     */
+    Cnf(final int variables, final int[] literals, final int[] offsets, final Map<String, Integer> symbols) {
+        if (literals == null) {
+            throw new IllegalArgumentException("literals cannot be null");
+        }
+        if (offsets == null || offsets.length == 0) {
+            throw new IllegalArgumentException("offsets cannot be null or empty");
+        }
+        if (symbols == null) {
+            throw new IllegalArgumentException("symbols cannot be null");
+        }
+        this.variables = variables;
+        this.literals = literals;
+        this.offsets = offsets;
+        this.symbols = Collections.unmodifiableMap(symbols);
+    }
+
+    /**
+     * Returns the number of variables.
+     *
+     * @return the number of variables
+     */
+    public int getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns the number of clauses.
+     *
+     * @return the number of clauses
+     */
+    public int getClauses() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the literals of the i-th clause.
+     *
+     * @param i the clause's index
+     * @return the clause's literals
+     * @throws IndexOutOfBoundsException if i is out of range
+     */
+    public int[] getClause(final int i) {
+        return Arrays.copyOfRange(literals, offsets[i], offsets[i + 1]);
+    }
+
+    /**
+     * Returns the symbols' variables.
+     *
+     * @return the symbols' variables
+     */
+    public Map<String, Integer> getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Writes these clauses in the DIMACS format, preceded by a comment line for each symbol.
+     *
+     * @param writer the writer
+     * @throws IllegalArgumentException if writer is {@code null}
+     * @throws IOException              if an I/O error occurs
+     */
+    public void writeDimacs(final Writer writer) throws IOException {
+        if (writer == null) {
+            throw new IllegalArgumentException("writer cannot be null");
+        }
+        for (final Map.Entry<String, Integer> entry : symbols.entrySet()) {
+            writer.write(String.format("c %s %d\n", entry.getKey(), entry.getValue()));
+        }
+        writer.write(String.format("p cnf %d %d\n", variables, getClauses()));
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < getClauses(); i++) {
+            sb.setLength(0);
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                sb.append(literals[j]).append(' ');
+            }
+            writer.write(sb.append("0\n").toString());
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringWriter writer = new StringWriter();
+        try {
+            writeDimacs(writer);
+        } catch (final IOException e) { // this should never happen
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+}
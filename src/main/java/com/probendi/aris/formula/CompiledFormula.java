@@ -0,0 +1,296 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+
+import java.util.*;
+
+/**
+ * A well-formed formula lowered to a flat sequence of postfix instructions over integer symbol slots.
+ * <p>
+ * Every instruction is an {@code int}, whose lowest three bits hold the operation and the remaining ones the slot of
+ * the symbol to be loaded. The conjunction of several formulae can be compiled into a single program. A compiled
+ * formula is immutable, hence it can be evaluated concurrently.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class CompiledFormula implements Evaluator {
+
+    /**
+     * Pushes the value of a symbol.
+     */
+    public static final int LOAD = 0;
+
+    /**
+     * Replaces the value on the top of the stack with its negation.
+     */
+    public static final int NOT = 1;
+
+    /**
+     * Replaces the two values on the top of the stack with their conjunction.
+     */
+    public static final int AND = 2;
+
+    /**
+     * Replaces the two values on the top of the stack with their disjunction.
+     */
+    public static final int OR = 3;
+
+    /**
+     * Replaces the two values on the top of the stack with their conditional.
+     */
+    public static final int IMPLIES = 4;
+
+    /**
+     * The number of bits which hold the operation.
+     */
+    public static final int OPERATION_BITS = 3;
+
+    private static final int OPERATION_MASK = (1 << OPERATION_BITS) - 1;
+
+    private final int[] code;
+    private final List<String> symbols;
+    private final int depth;
+
+    private CompiledFormula(final int[] code, final List<String> symbols, final int depth) {
+        this.code = code;
+        this.symbols = symbols;
+        this.depth = depth;
+    }
+
+    /**
+     * Compiles the given formula, whose symbols are assigned a slot in the order of their first occurrence.
+     *
+     * @param wff the formula to be compiled
+     * @return the compiled formula
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public static CompiledFormula compile(final WellFormedFormula wff) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        try {
+            return compile(List.of(wff), null);
+        } catch (final MissingSymbolException e) { // this should never happen, for new symbols are always added
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Compiles the conjunction of the given formulae.
+     *
+     * @param formulae the formulae to be compiled
+     * @param symbols  the symbols, whose indices are their slots, or {@code null} if the symbols must be assigned a
+     *                 slot in the order of their first occurrence
+     * @return the compiled formula
+     * @throws IllegalArgumentException if formulae is {@code null} or empty
+     * @throws MissingSymbolException   if a formula contains a symbol which does not belong to the given symbols
+     */
+    public static CompiledFormula compile(final List<WellFormedFormula> formulae, final List<String> symbols)
+            throws MissingSymbolException {
+        if (formulae == null || formulae.isEmpty()) {
+            throw new IllegalArgumentException("formulae cannot be null or empty");
+        }
+        final Compiler compiler = new Compiler(symbols);
+        for (final WellFormedFormula wff : formulae) {
+            compiler.emit(wff);
+        }
+        for (int i = 1; i < formulae.size(); i++) {
+            compiler.add(AND, 0);
+        }
+        return new CompiledFormula(Arrays.copyOf(compiler.code, compiler.size),
+                Collections.unmodifiableList(compiler.symbols), compiler.maxDepth);
+    }
+
+    /**
+     * Returns the instructions.
+     *
+     * @return a copy of the instructions
+     */
+    public int[] getCode() {
+        return code.clone();
+    }
+
+    /**
+     * Returns the symbols, whose indices are their slots.
+     *
+     * @return the symbols
+     */
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns the maximum depth of the evaluation stack.
+     *
+     * @return the maximum depth of the evaluation stack
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Evaluates this formula.
+     *
+     * @param values the symbols' truth-values, indexed by slot
+     * @return the formula's truth-value
+     * @throws IllegalArgumentException if values is {@code null} or shorter than the number of symbols
+     */
+    public boolean evaluate(final boolean[] values) {
+        return evaluate(values, new boolean[depth]);
+    }
+
+    /**
+     * Evaluates this formula on the given evaluation stack, so that repeated evaluations allocate nothing.
+     *
+     * @param values the symbols' truth-values, indexed by slot
+     * @param stack  the evaluation stack, which is overwritten
+     * @return the formula's truth-value
+     * @throws IllegalArgumentException if values is {@code null} or shorter than the number of symbols, or if stack
+     *                                  is {@code null} or shorter than {@link #getDepth()}
+     */
+    public boolean evaluate(final boolean[] values, final boolean[] stack) {
+        if (values == null || values.length < symbols.size()) {
+            throw new IllegalArgumentException("values cannot be null or shorter than the number of symbols");
+        }
+        if (stack == null || stack.length < depth) {
+            throw new IllegalArgumentException("stack cannot be null or shorter than the depth");
+        }
+        int top = -1;
+        for (final int instruction : code) {
+            switch (instruction & OPERATION_MASK) {
+                case LOAD -> stack[++top] = values[instruction >>> OPERATION_BITS];
+                case NOT -> stack[top] = !stack[top];
+                case AND -> stack[--top] &= stack[top + 1];
+                case OR -> stack[--top] |= stack[top + 1];
+                default -> stack[--top] = !stack[top] | stack[top + 1];
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Evaluates this formula against 64 valuations at once.
+     *
+     * @param words the symbols' truth-values packed into 64-bit words, indexed by slot
+     * @return the formula's truth-values packed into a 64-bit word
+     * @throws IllegalArgumentException if words is {@code null} or shorter than the number of symbols
+     * @see WellFormedFormula#valuateWord(Map)
+     */
+    public long evaluateWord(final long[] words) {
+        return evaluateWord(words, new long[depth]);
+    }
+
+    /**
+     * Evaluates this formula against 64 valuations at once on the given evaluation stack, so that repeated
+     * evaluations allocate nothing.
+     *
+     * @param words the symbols' truth-values packed into 64-bit words, indexed by slot
+     * @param stack the evaluation stack, which is overwritten
+     * @return the formula's truth-values packed into a 64-bit word
+     * @throws IllegalArgumentException if words is {@code null} or shorter than the number of symbols, or if stack is
+     *                                  {@code null} or shorter than {@link #getDepth()}
+     */
+    @Override
+    public long evaluateWord(final long[] words, final long[] stack) {
+        if (words == null || words.length < symbols.size()) {
+            throw new IllegalArgumentException("words cannot be null or shorter than the number of symbols");
+        }
+        if (stack == null || stack.length < depth) {
+            throw new IllegalArgumentException("stack cannot be null or shorter than the depth");
+        }
+        int top = -1;
+        for (final int instruction : code) {
+            switch (instruction & OPERATION_MASK) {
+                case LOAD -> stack[++top] = words[instruction >>> OPERATION_BITS];
+                case NOT -> stack[top] = ~stack[top];
+                case AND -> stack[--top] &= stack[top + 1];
+                case OR -> stack[--top] |= stack[top + 1];
+                default -> stack[--top] = ~stack[top] | stack[top + 1];
+            }
+        }
+        return stack[0];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (final int instruction : code) {
+            switch (instruction & OPERATION_MASK) {
+                case LOAD -> sb.append(symbols.get(instruction >>> OPERATION_BITS));
+                case NOT -> sb.append('¬');
+                case AND -> sb.append('∧');
+                case OR -> sb.append('∨');
+                default -> sb.append('→');
+            }
+            sb.append(' ');
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Emits the postfix instructions of well-formed formulae.
+     */
+    private static final class Compiler {
+
+        private final List<String> symbols;
+        private final Map<String, Integer> slots = new HashMap<>();
+        private final boolean fixed;
+
+        private int[] code = new int[16];
+        private int size;
+        private int depth;
+        private int maxDepth;
+
+        private Compiler(final List<String> symbols) {
+            fixed = symbols != null;
+            this.symbols = fixed ? new ArrayList<>(symbols) : new ArrayList<>();
+            for (int i = 0; i < this.symbols.size(); i++) {
+                slots.put(this.symbols.get(i), i);
+            }
+        }
+
+        private void emit(final WellFormedFormula wff) throws MissingSymbolException {
+            if (wff instanceof AtomicCondition atom) {
+                Integer slot = slots.get(atom.getValue());
+                if (slot == null) {
+                    if (fixed) {
+                        throw new MissingSymbolException(atom.getValue());
+                    }
+                    slot = symbols.size();
+                    symbols.add(atom.getValue());
+                    slots.put(atom.getValue(), slot);
+                }
+                add(LOAD, slot);
+            } else if (wff instanceof Negation negation) {
+                emit(negation.wff());
+                add(NOT, 0);
+            } else if (wff instanceof Conjunction conjunction) {
+                emit(conjunction.wff1());
+                emit(conjunction.wff2());
+                add(AND, 0);
+            } else if (wff instanceof Disjunction disjunction) {
+                emit(disjunction.wff1());
+                emit(disjunction.wff2());
+                add(OR, 0);
+            } else if (wff instanceof Conditional conditional) {
+                emit(conditional.wff1());
+                emit(conditional.wff2());
+                add(IMPLIES, 0);
+            } else {
+                throw new IllegalArgumentException("unsupported formula " + wff);
+            }
+        }
+
+        private void add(final int operation, final int slot) {
+            if (size == code.length) {
+                code = Arrays.copyOf(code, 2 * size);
+            }
+            code[size++] = slot << OPERATION_BITS | operation;
+            if (operation == LOAD) {
+                maxDepth = Math.max(maxDepth, ++depth);
+            } else if (operation != NOT) {
+                depth--;
+            }
+        }
+    }
+}
@@ -8,13 +8,20 @@ import java.util.Objects;
 
 /**
  * Represents a disjunction (also known as OR) operation.
- *
- * @param wff1 the first argument
- * @param wff2 the second argument
- *             <p>
- *             {@code @Copyright}, 2023 Daniele Di Salvo
+ * <p>
+ * The hash code is computed once, when the disjunction is created. The disjunctions interned by the same
+ * {@link FormulaFactory} are equal only if they are the same instance, hence they are compared without visiting their
+ * subformulae.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
  */
-public record Disjunction(WellFormedFormula wff1, WellFormedFormula wff2) implements WellFormedFormula {
+public final class Disjunction implements WellFormedFormula {
+
+    private final WellFormedFormula wff1;
+    private final WellFormedFormula wff2;
+    private final int hash;
+    private final FormulaFactory factory;
+    private final int id;
 
     /**
      * Creates a new disjunction of the given well-formed formulae.
@@ -23,29 +30,83 @@ public record Disjunction(WellFormedFormula wff1, WellFormedFormula wff2) implem
      * @param wff2 the right argument as a well-formed formula
      * @throws IllegalArgumentException if a wff is null
      */
-    public Disjunction {
+    public Disjunction(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        this(wff1, wff2, null, -1);
+    }
+
+    /**
+     * Creates a new disjunction of the given well-formed formulae, which is interned by the given factory.
+     *
+     * @param wff1    the left argument as a well-formed formula
+     * @param wff2    the right argument as a well-formed formula
+     * @param factory the factory, or {@code null} if the disjunction is not interned
+     * @param id      the id given by the factory, or -1 if the disjunction is not interned
+     * @throws IllegalArgumentException if a wff is null
+     */
+    Disjunction(final WellFormedFormula wff1, final WellFormedFormula wff2, final FormulaFactory factory,
+                final int id) {
         if (wff1 == null) {
             throw new IllegalArgumentException("wff1 cannot be null");
         }
         if (wff2 == null) {
             throw new IllegalArgumentException("wff2 cannot be null");
         }
+        this.wff1 = wff1;
+        this.wff2 = wff2;
+        this.hash = Objects.hash(wff1, wff2);
+        this.factory = factory;
+        this.id = id;
+    }
+
+    /**
+     * Returns the left argument.
+     *
+     * @return the left argument
+     */
+    public WellFormedFormula wff1() {
+        return wff1;
+    }
+
+    /**
+     * Returns the right argument.
+     *
+     * @return the right argument
+     */
+    public WellFormedFormula wff2() {
+        return wff2;
+    }
+
+    /**
+     * Returns the factory which interned this disjunction.
+     *
+     * @return the factory, or {@code null} if this disjunction is not interned
+     */
+    FormulaFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Returns the id given by the factory which interned this disjunction.
+     *
+     * @return the id, or -1 if this disjunction is not interned
+     */
+    int getId() {
+        return id;
     }
 
     @Override
     public List<Condition> determineFalsehoodConditions() {
-        return List.of(
-                new BinaryCondition(wff1.determineFalsehoodConditions().get(0), wff2.determineFalsehoodConditions().get(0))
-        );
+        return new LazyConditions(1, i ->
+                new BinaryCondition(wff1.determineFalsehoodConditions().get(0), wff2.determineFalsehoodConditions().get(0)));
     }
 
     @Override
     public List<Condition> determineTruthnessConditions() {
-        return List.of(
-                new BinaryCondition(wff1.determineTruthnessConditions().get(0), wff2.determineFalsehoodConditions().get(0)),
-                new BinaryCondition(wff1.determineFalsehoodConditions().get(0), wff2.determineTruthnessConditions().get(0)),
-                new BinaryCondition(wff1.determineTruthnessConditions().get(0), wff2.determineTruthnessConditions().get(0))
-        );
+        return new LazyConditions(3, i -> switch (i) {
+            case 0 -> new BinaryCondition(wff1.determineTruthnessConditions().get(0), wff2.determineFalsehoodConditions().get(0));
+            case 1 -> new BinaryCondition(wff1.determineFalsehoodConditions().get(0), wff2.determineTruthnessConditions().get(0));
+            default -> new BinaryCondition(wff1.determineTruthnessConditions().get(0), wff2.determineTruthnessConditions().get(0));
+        });
     }
 
     @Override
@@ -53,20 +114,44 @@ public record Disjunction(WellFormedFormula wff1, WellFormedFormula wff2) implem
         return wff1.valuate(values) || wff2.valuate(values);
     }
 
+    @Override
+    public boolean valuate(final Valuation values) throws MissingSymbolException {
+        return wff1.valuate(values) || wff2.valuate(values);
+    }
+
+    @Override
+    public int valuatePartially(final Valuation values) {
+        final int v1 = wff1.valuatePartially(values);
+        if (v1 == Valuation.TRUE) {
+            return Valuation.TRUE;
+        }
+        final int v2 = wff2.valuatePartially(values);
+        return v2 == Valuation.TRUE ? Valuation.TRUE : v1 == Valuation.FALSE ? v2 : Valuation.UNKNOWN;
+    }
+
+    @Override
+    public long valuateWord(final Map<String, Long> words) throws MissingSymbolException {
+        return wff1.valuateWord(words) | wff2.valuateWord(words);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof Disjunction that)) {
+        if (!(o instanceof Disjunction that) || hash != that.hash) {
+            return false;
+        }
+        // distinct formulae interned by the same factory are structurally different
+        if (factory != null && factory == that.factory) {
             return false;
         }
-        return wff1().equals(that.wff1()) && wff2().equals(that.wff2());
+        return wff1.equals(that.wff1) && wff2.equals(that.wff2);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(wff1(), wff2());
+        return hash;
     }
 
     @Override
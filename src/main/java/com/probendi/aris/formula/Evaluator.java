@@ -0,0 +1,19 @@
+package com.probendi.aris.formula;
+
+/**
+ * An evaluator of a formula against 64 valuations at once.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public interface Evaluator {
+
+    /**
+     * Evaluates the formula against 64 valuations at once.
+     *
+     * @param words the symbols' truth-values packed into 64-bit words, indexed by slot
+     * @param stack the evaluation stack, which is overwritten, and must be at least as long as
+     *              {@link CompiledFormula#getDepth()}
+     * @return the formula's truth-values packed into a 64-bit word
+     */
+    long evaluateWord(final long[] words, final long[] stack);
+}
@@ -0,0 +1,206 @@
+package com.probendi.aris.formula;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Generates a hidden class, which implements {@link Evaluator} by translating the instructions of a
+ * {@link CompiledFormula} into straight-line JVM bytecode, so that the JIT compiler can optimise the whole formula.
+ * <p>
+ * The generated method holds the 64 truth-values of every subformula as a {@code long} value on the operand stack,
+ * ignores the evaluation stack it is given, and contains no branch, hence it needs no stack map frames.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class EvaluatorGenerator {
+
+    /**
+     * The maximum size of the generated method, beyond which the JIT compiler would not compile it.
+     */
+    public static final int MAX_CODE_LENGTH = 8000;
+
+    private static final String CLASS_NAME = EvaluatorGenerator.class.getPackageName().replace('.', '/') + "/GeneratedEvaluator";
+
+    // the opcodes of the generated instructions
+    private static final int ICONST_M1 = 0x02;
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int LALOAD = 0x2f;
+    private static final int POP2 = 0x58;
+    private static final int DUP2_X2 = 0x5e;
+    private static final int LAND = 0x7f;
+    private static final int LOR = 0x81;
+    private static final int LXOR = 0x83;
+    private static final int I2L = 0x85;
+    private static final int LRETURN = 0xad;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+
+    private EvaluatorGenerator() {
+    }
+
+    /**
+     * Generates an evaluator of the given formula.
+     *
+     * @param program the formula
+     * @return a new instance of a hidden class, which evaluates the given formula, or {@code null} if the formula's
+     * translation would be longer than {@link #MAX_CODE_LENGTH} bytes
+     * @throws IllegalArgumentException if program is {@code null}
+     */
+    public static Evaluator generate(final CompiledFormula program) {
+        if (program == null) {
+            throw new IllegalArgumentException("program cannot be null");
+        }
+        final byte[] code = translate(program.getCode());
+        if (code == null) {
+            return null;
+        }
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup()
+                    .defineHiddenClass(toClassFile(program, code), true);
+            return (Evaluator) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Translates the given instructions into the bytecode of {@code long evaluateWord(long[], long[])}.
+     *
+     * @param code the instructions
+     * @return the bytecode, or {@code null} if it would be longer than {@link #MAX_CODE_LENGTH} bytes
+     */
+    private static byte[] translate(final int[] code) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (final int instruction : code) {
+            switch (instruction & ((1 << CompiledFormula.OPERATION_BITS) - 1)) {
+                case CompiledFormula.LOAD -> {
+                    // words[slot]
+                    final int slot = instruction >>> CompiledFormula.OPERATION_BITS;
+                    out.write(ALOAD_1);
+                    if (slot <= 5) {
+                        out.write(ICONST_0 + slot);
+                    } else if (slot <= Byte.MAX_VALUE) {
+                        out.write(BIPUSH);
+                        out.write(slot);
+                    } else {
+                        out.write(SIPUSH);
+                        out.write(slot >>> 8);
+                        out.write(slot);
+                    }
+                    out.write(LALOAD);
+                }
+                case CompiledFormula.NOT -> not(out);
+                case CompiledFormula.AND -> out.write(LAND);
+                case CompiledFormula.OR -> out.write(LOR);
+                default -> {
+                    // ¬a ∨ b, after swapping a and b
+                    out.write(DUP2_X2);
+                    out.write(POP2);
+                    not(out);
+                    out.write(LOR);
+                }
+            }
+            if (out.size() > MAX_CODE_LENGTH) {
+                return null;
+            }
+        }
+        out.write(LRETURN);
+        return out.toByteArray();
+    }
+
+    private static void not(final ByteArrayOutputStream out) {
+        // a ^ -1L
+        out.write(ICONST_M1);
+        out.write(I2L);
+        out.write(LXOR);
+    }
+
+    /**
+     * Returns the class file of the evaluator of the given formula.
+     *
+     * @param program the formula
+     * @param code    the formula's bytecode
+     * @return the class file
+     */
+    private static byte[] toClassFile(final CompiledFormula program, final byte[] code) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(61); // Java 17
+
+            // the constant pool
+            out.writeShort(14);
+            writeUtf8(out, CLASS_NAME);                                  // #1
+            writeClass(out, 1);                                          // #2
+            writeUtf8(out, "java/lang/Object");                          // #3
+            writeClass(out, 3);                                          // #4
+            writeUtf8(out, Evaluator.class.getName().replace('.', '/')); // #5
+            writeClass(out, 5);                                          // #6
+            writeUtf8(out, "<init>");                                    // #7
+            writeUtf8(out, "()V");                                       // #8
+            out.writeByte(12);                                           // #9 NameAndType
+            out.writeShort(7);
+            out.writeShort(8);
+            out.writeByte(10);                                           // #10 Methodref
+            out.writeShort(4);
+            out.writeShort(9);
+            writeUtf8(out, "evaluateWord");                              // #11
+            writeUtf8(out, "([J[J)J");                                   // #12
+            writeUtf8(out, "Code");                                      // #13
+
+            out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(1);
+            out.writeShort(6);
+            out.writeShort(0); // fields
+
+            out.writeShort(2); // methods
+            writeMethod(out, 7, 8, 1, 1, new byte[]{(byte) ALOAD_0, (byte) INVOKESPECIAL, 0, 10, (byte) RETURN});
+            // every value takes two slots, and a load or a negation needs two more
+            writeMethod(out, 11, 12, 2 * program.getDepth() + 2, 3, code);
+
+            out.writeShort(0); // attributes
+        } catch (final IOException e) { // this should never happen
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeUtf8(final DataOutputStream out, final String value) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(value);
+    }
+
+    private static void writeClass(final DataOutputStream out, final int name) throws IOException {
+        out.writeByte(7);
+        out.writeShort(name);
+    }
+
+    private static void writeMethod(final DataOutputStream out, final int name, final int descriptor,
+                                    final int maxStack, final int maxLocals, final byte[] code) throws IOException {
+        out.writeShort(0x0001); // public
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(13);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+    }
+}
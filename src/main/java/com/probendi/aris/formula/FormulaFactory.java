@@ -0,0 +1,177 @@
+package com.probendi.aris.formula;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A factory of hash-consed well-formed formulae.
+ * <p>
+ * The factory interns every formula it creates, so that structurally equal formulae are the same instance, and
+ * identical subformulae are shared in a directed acyclic graph. Every interned formula is given a unique id, which is
+ * stored on the formula, together with the factory, when the formula is created. Hence, the ids of its subformulae are
+ * read without hashing, and two formulae interned by this factory are equal only if they are the same instance.
+ * <p>
+ * The atomic conditions created by a factory are shared, hence they must not be set to true or false. They are indexed
+ * by the factory's {@link SymbolTable}, hence they can be valuated against a {@link Valuation} of that table.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class FormulaFactory {
+
+    private static final int NEGATION = 0;
+    private static final int CONJUNCTION = 1;
+    private static final int DISJUNCTION = 2;
+    private static final int CONDITIONAL = 3;
+
+    private final SymbolTable symbols = new SymbolTable();
+    private final Map<String, AtomicCondition> atoms = new HashMap<>();
+    private final Map<Key, WellFormedFormula> formulae = new HashMap<>();
+    private int size;
+
+    /**
+     * Returns the number of interned formulae.
+     *
+     * @return the number of interned formulae
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the symbol table, which gives the atomic conditions created by this factory their indices.
+     *
+     * @return the symbol table
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns the unique id of the given formula.
+     *
+     * @param wff the formula
+     * @return the formula's id, or -1 if the formula was not interned by this factory
+     */
+    public int getId(final WellFormedFormula wff) {
+        if (wff instanceof AtomicCondition atom) {
+            return atom.getFactory() == this ? atom.getId() : -1;
+        } else if (wff instanceof Negation negation) {
+            return negation.getFactory() == this ? negation.getId() : -1;
+        } else if (wff instanceof Conjunction conjunction) {
+            return conjunction.getFactory() == this ? conjunction.getId() : -1;
+        } else if (wff instanceof Disjunction disjunction) {
+            return disjunction.getFactory() == this ? disjunction.getId() : -1;
+        } else if (wff instanceof Conditional conditional) {
+            return conditional.getFactory() == this ? conditional.getId() : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the interned atomic condition with the given value.
+     *
+     * @param value the value
+     * @return the interned atomic condition
+     * @throws IllegalArgumentException if value is {@code null}
+     */
+    public AtomicCondition atom(final String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value cannot be null");
+        }
+        return atoms.computeIfAbsent(value, k -> new AtomicCondition(k, symbols.index(k), this, size++));
+    }
+
+    /**
+     * Returns the interned negation of the given formula.
+     *
+     * @param wff the formula
+     * @return the interned negation
+     * @throws IllegalArgumentException if wff is {@code null}
+     */
+    public Negation negation(final WellFormedFormula wff) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        final WellFormedFormula w = intern(wff);
+        return (Negation) formulae.computeIfAbsent(new Key(NEGATION, getId(w), -1), k -> new Negation(w, this, size++));
+    }
+
+    /**
+     * Returns the interned conjunction of the given formulae.
+     *
+     * @param wff1 the left formula
+     * @param wff2 the right formula
+     * @return the interned conjunction
+     * @throws IllegalArgumentException if a wff is {@code null}
+     */
+    public Conjunction conjunction(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        final WellFormedFormula w1 = intern(wff1);
+        final WellFormedFormula w2 = intern(wff2);
+        return (Conjunction) formulae.computeIfAbsent(new Key(CONJUNCTION, getId(w1), getId(w2)),
+                k -> new Conjunction(w1, w2, this, size++));
+    }
+
+    /**
+     * Returns the interned disjunction of the given formulae.
+     *
+     * @param wff1 the left formula
+     * @param wff2 the right formula
+     * @return the interned disjunction
+     * @throws IllegalArgumentException if a wff is {@code null}
+     */
+    public Disjunction disjunction(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        final WellFormedFormula w1 = intern(wff1);
+        final WellFormedFormula w2 = intern(wff2);
+        return (Disjunction) formulae.computeIfAbsent(new Key(DISJUNCTION, getId(w1), getId(w2)),
+                k -> new Disjunction(w1, w2, this, size++));
+    }
+
+    /**
+     * Returns the interned conditional of the given formulae.
+     *
+     * @param wff1 the antecedent
+     * @param wff2 the consequent
+     * @return the interned conditional
+     * @throws IllegalArgumentException if a wff is {@code null}
+     */
+    public Conditional conditional(final WellFormedFormula wff1, final WellFormedFormula wff2) {
+        final WellFormedFormula w1 = intern(wff1);
+        final WellFormedFormula w2 = intern(wff2);
+        return (Conditional) formulae.computeIfAbsent(new Key(CONDITIONAL, getId(w1), getId(w2)),
+                k -> new Conditional(w1, w2, this, size++));
+    }
+
+    /**
+     * Returns the interned formula which is structurally equal to the given one.
+     *
+     * @param wff the formula
+     * @return the interned formula
+     * @throws IllegalArgumentException if wff is {@code null} or is not supported
+     */
+    public WellFormedFormula intern(final WellFormedFormula wff) {
+        if (wff == null) {
+            throw new IllegalArgumentException("wff cannot be null");
+        }
+        if (getId(wff) != -1) {
+            return wff;
+        }
+        if (wff instanceof AtomicCondition atom) {
+            return atom(atom.getValue());
+        } else if (wff instanceof Negation negation) {
+            return negation(negation.wff());
+        } else if (wff instanceof Conjunction conjunction) {
+            return conjunction(conjunction.wff1(), conjunction.wff2());
+        } else if (wff instanceof Disjunction disjunction) {
+            return disjunction(disjunction.wff1(), disjunction.wff2());
+        } else if (wff instanceof Conditional conditional) {
+            return conditional(conditional.wff1(), conditional.wff2());
+        }
+        throw new IllegalArgumentException("unsupported formula " + wff);
+    }
+
+    /**
+     * The key of an interned formula, made of its operation and the ids of its subformulae.
+     */
+    private record Key(int operation, int id1, int id2) {
+    }
+}
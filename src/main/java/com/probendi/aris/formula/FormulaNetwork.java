@@ -0,0 +1,273 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+
+import java.util.*;
+
+/**
+ * A well-formed formula lowered to a network of nodes, which caches the truth-value of every subformula and updates
+ * only the subformulae which depend on the atoms whose values changed.
+ * <p>
+ * The conjunction of several formulae can be lowered into a single network. Identical subformulae, e.g., the ones
+ * shared by a {@link FormulaFactory}, are lowered to the same node, and every node is numbered after its subformulae,
+ * hence a change is propagated by visiting the affected nodes in ascending order, and stops at the nodes whose
+ * truth-values did not change. A network is mutable, hence it must not be used concurrently.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class FormulaNetwork {
+
+    private final List<String> symbols;
+    private final AtomicCondition[] conditions;
+    private final int[] atoms;
+    private final int[] operations;
+    private final int[] lefts;
+    private final int[] rights;
+    private final int[][] parents;
+    private final boolean[] values;
+    private final boolean[] lookup;
+    private final BitSet dirty = new BitSet();
+    private final int root;
+    private boolean valuated;
+
+    /**
+     * Lowers the conjunction of the given formulae, whose symbols are assigned a slot in the order of their first
+     * occurrence.
+     *
+     * @param formulae the formulae
+     * @throws IllegalArgumentException if formulae is {@code null} or empty
+     */
+    public FormulaNetwork(final List<WellFormedFormula> formulae) {
+        if (formulae == null || formulae.isEmpty()) {
+            throw new IllegalArgumentException("formulae cannot be null or empty");
+        }
+        final Builder builder = new Builder();
+        int node = builder.lower(formulae.get(0));
+        for (int i = 1; i < formulae.size(); i++) {
+            node = builder.add(CompiledFormula.AND, node, builder.lower(formulae.get(i)));
+        }
+        root = node;
+        symbols = Collections.unmodifiableList(builder.symbols);
+        conditions = builder.conditions.toArray(new AtomicCondition[0]);
+        atoms = builder.atoms.stream().mapToInt(Integer::intValue).toArray();
+        final int size = builder.size;
+        operations = Arrays.copyOf(builder.operations, size);
+        lefts = Arrays.copyOf(builder.lefts, size);
+        rights = Arrays.copyOf(builder.rights, size);
+        values = new boolean[size];
+        lookup = new boolean[symbols.size()];
+
+        final int[] counts = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (operations[i] != CompiledFormula.LOAD) {
+                counts[lefts[i]]++;
+                if (operations[i] != CompiledFormula.NOT && rights[i] != lefts[i]) {
+                    counts[rights[i]]++;
+                }
+            }
+        }
+        parents = new int[size][];
+        for (int i = 0; i < size; i++) {
+            parents[i] = new int[counts[i]];
+        }
+        for (int i = 0; i < size; i++) {
+            if (operations[i] != CompiledFormula.LOAD) {
+                parents[lefts[i]][--counts[lefts[i]]] = i;
+                if (operations[i] != CompiledFormula.NOT && rights[i] != lefts[i]) {
+                    parents[rights[i]][--counts[rights[i]]] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the symbols, whose indices are their slots.
+     *
+     * @return the symbols
+     */
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns the number of nodes, i.e., of distinct subformulae.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return operations.length;
+    }
+
+    /**
+     * Valuates the conjunction of the formulae with the given values, recomputing only the subformulae which depend on
+     * the symbols whose values changed since the previous valuation.
+     *
+     * @param values the values lookup table
+     * @return the conjunction's truth-value
+     * @throws IllegalArgumentException if values is {@code null}
+     * @throws MissingSymbolException   if a symbol is not found in the values lookup table, in which case the network
+     *                                  is left unchanged
+     */
+    public boolean valuate(final Map<String, Boolean> values) throws MissingSymbolException {
+        if (values == null) {
+            throw new IllegalArgumentException("values cannot be null");
+        }
+        // the values are looked up before any of them is set, so that a missing symbol leaves the network unchanged
+        for (int i = 0; i < symbols.size(); i++) {
+            final Boolean value = values.get(symbols.get(i));
+            if (value == null) {
+                throw new MissingSymbolException(symbols.get(i));
+            }
+            lookup[i] = value;
+        }
+        return update();
+    }
+
+    /**
+     * Valuates the conjunction of the formulae with the given compact valuation, recomputing only the subformulae
+     * which depend on the symbols whose values changed since the previous valuation.
+     *
+     * @param values the symbols' truth-values
+     * @return the conjunction's truth-value
+     * @throws IllegalArgumentException if values is {@code null}
+     * @throws MissingSymbolException   if a symbol has no value, in which case the network is left unchanged
+     */
+    public boolean valuate(final Valuation values) throws MissingSymbolException {
+        if (values == null) {
+            throw new IllegalArgumentException("values cannot be null");
+        }
+        for (int i = 0; i < conditions.length; i++) {
+            final int index = values.indexOf(conditions[i]);
+            if (!values.isKnown(index)) {
+                throw new MissingSymbolException(symbols.get(i));
+            }
+            lookup[i] = values.get(index);
+        }
+        return update();
+    }
+
+    private boolean update() {
+        for (int i = 0; i < lookup.length; i++) {
+            set(i, lookup[i]);
+        }
+        return getValue();
+    }
+
+    /**
+     * Sets the value of the symbol in the given slot, and marks the subformulae which depend on it for recomputation.
+     *
+     * @param slot  the symbol's slot
+     * @param value the symbol's value
+     * @throws IndexOutOfBoundsException if slot is out of range
+     */
+    public void set(final int slot, final boolean value) {
+        final int node = atoms[slot];
+        if (valuated && values[node] == value) {
+            return;
+        }
+        values[node] = value;
+        for (final int parent : parents[node]) {
+            dirty.set(parent);
+        }
+    }
+
+    /**
+     * Returns the truth-value of the conjunction of the formulae, after recomputing the marked subformulae.
+     * <p>
+     * The first invocation computes all the subformulae, hence the values of all the symbols must be set before.
+     *
+     * @return the conjunction's truth-value
+     */
+    public boolean getValue() {
+        if (!valuated) {
+            for (int i = 0; i < values.length; i++) {
+                if (operations[i] != CompiledFormula.LOAD) {
+                    values[i] = compute(i);
+                }
+            }
+            dirty.clear();
+            valuated = true;
+        }
+        // the parents are numbered after their children, hence they are visited after them
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            dirty.clear(i);
+            final boolean value = compute(i);
+            if (values[i] != value) {
+                values[i] = value;
+                for (final int parent : parents[i]) {
+                    dirty.set(parent);
+                }
+            }
+        }
+        return values[root];
+    }
+
+    private boolean compute(final int node) {
+        final boolean left = values[lefts[node]];
+        return switch (operations[node]) {
+            case CompiledFormula.NOT -> !left;
+            case CompiledFormula.AND -> left & values[rights[node]];
+            case CompiledFormula.OR -> left | values[rights[node]];
+            default -> !left | values[rights[node]];
+        };
+    }
+
+    /**
+     * Numbers the distinct subformulae of well-formed formulae after their own subformulae.
+     */
+    private static final class Builder {
+
+        private final List<String> symbols = new ArrayList<>();
+        private final List<AtomicCondition> conditions = new ArrayList<>();
+        private final List<Integer> atoms = new ArrayList<>();
+        private final Map<String, Integer> slots = new HashMap<>();
+        private final Map<WellFormedFormula, Integer> nodes = new IdentityHashMap<>();
+
+        private int[] operations = new int[16];
+        private int[] lefts = new int[16];
+        private int[] rights = new int[16];
+        private int size;
+
+        private int lower(final WellFormedFormula wff) {
+            Integer node = nodes.get(wff);
+            if (node != null) {
+                return node;
+            }
+            if (wff instanceof AtomicCondition atom) {
+                final Integer slot = slots.get(atom.getValue());
+                if (slot != null) {
+                    return atoms.get(slot);
+                }
+                node = add(CompiledFormula.LOAD, symbols.size(), 0);
+                slots.put(atom.getValue(), symbols.size());
+                symbols.add(atom.getValue());
+                conditions.add(atom);
+                atoms.add(node);
+            } else if (wff instanceof Negation negation) {
+                node = add(CompiledFormula.NOT, lower(negation.wff()), 0);
+            } else if (wff instanceof Conjunction conjunction) {
+                node = add(CompiledFormula.AND, lower(conjunction.wff1()), lower(conjunction.wff2()));
+            } else if (wff instanceof Disjunction disjunction) {
+                node = add(CompiledFormula.OR, lower(disjunction.wff1()), lower(disjunction.wff2()));
+            } else if (wff instanceof Conditional conditional) {
+                node = add(CompiledFormula.IMPLIES, lower(conditional.wff1()), lower(conditional.wff2()));
+            } else {
+                throw new IllegalArgumentException("unsupported formula " + wff);
+            }
+            nodes.put(wff, node);
+            return node;
+        }
+
+        private int add(final int operation, final int left, final int right) {
+            if (size == operations.length) {
+                operations = Arrays.copyOf(operations, 2 * size);
+                lefts = Arrays.copyOf(lefts, 2 * size);
+                rights = Arrays.copyOf(rights, 2 * size);
+            }
+            operations[size] = operation;
+            lefts[size] = left;
+            rights[size] = right;
+            return size++;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.probendi.aris.formula;
+
+import java.util.AbstractList;
+import java.util.function.IntFunction;
+
+/**
+ * An immutable list of conditions, each of which is generated the first time it is requested, and then reused.
+ * <p>
+ * The conditions of a formula are built from the first condition of each of its subformulae, hence generating them
+ * lazily visits every subformula once per requested condition, rather than building the subformulae's lists in full.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+final class LazyConditions extends AbstractList<Condition> {
+
+    private final Condition[] conditions;
+    private final IntFunction<Condition> generator;
+
+    /**
+     * Creates a new list of conditions.
+     *
+     * @param size      the number of conditions
+     * @param generator the function which generates the condition with the given index
+     */
+    LazyConditions(final int size, final IntFunction<Condition> generator) {
+        this.conditions = new Condition[size];
+        this.generator = generator;
+    }
+
+    @Override
+    public Condition get(final int index) {
+        // a condition is never null, hence a null element has not been generated yet
+        Condition condition = conditions[index];
+        if (condition == null) {
+            condition = generator.apply(index);
+            conditions[index] = condition;
+        }
+        return condition;
+    }
+
+    @Override
+    public int size() {
+        return conditions.length;
+    }
+}
@@ -8,12 +8,19 @@ import java.util.Objects;
 
 /**
  * Represents a negation (also known as NOT) operation.
- *
- * @param wff the argument
- *            <p>
- *            {@code @Copyright}, 2023 Daniele Di Salvo
+ * <p>
+ * The hash code is computed once, when the negation is created. The negations interned by the same
+ * {@link FormulaFactory} are equal only if they are the same instance, hence they are compared without visiting their
+ * subformulae.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
  */
-public record Negation(WellFormedFormula wff) implements WellFormedFormula {
+public final class Negation implements WellFormedFormula {
+
+    private final WellFormedFormula wff;
+    private final int hash;
+    private final FormulaFactory factory;
+    private final int id;
 
     /**
      * Creates a new negation with the given well-formed formula.
@@ -21,10 +28,53 @@ public record Negation(WellFormedFormula wff) implements WellFormedFormula {
      * @param wff the symbol
      * @throws IllegalArgumentException if wff is null
      */
-    public Negation {
+    public Negation(final WellFormedFormula wff) {
+        this(wff, null, -1);
+    }
+
+    /**
+     * Creates a new negation with the given well-formed formula, which is interned by the given factory.
+     *
+     * @param wff     the symbol
+     * @param factory the factory, or {@code null} if the negation is not interned
+     * @param id      the id given by the factory, or -1 if the negation is not interned
+     * @throws IllegalArgumentException if wff is null
+     */
+    Negation(final WellFormedFormula wff, final FormulaFactory factory, final int id) {
         if (wff == null) {
             throw new IllegalArgumentException("wff cannot be null");
         }
+        this.wff = wff;
+        this.hash = Objects.hash(wff);
+        this.factory = factory;
+        this.id = id;
+    }
+
+    /**
+     * Returns the argument.
+     *
+     * @return the argument
+     */
+    public WellFormedFormula wff() {
+        return wff;
+    }
+
+    /**
+     * Returns the factory which interned this negation.
+     *
+     * @return the factory, or {@code null} if this negation is not interned
+     */
+    FormulaFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Returns the id given by the factory which interned this negation.
+     *
+     * @return the id, or -1 if this negation is not interned
+     */
+    int getId() {
+        return id;
     }
 
     @Override
@@ -42,20 +92,40 @@ public record Negation(WellFormedFormula wff) implements WellFormedFormula {
         return !wff.valuate(values);
     }
 
+    @Override
+    public boolean valuate(final Valuation values) throws MissingSymbolException {
+        return !wff.valuate(values);
+    }
+
+    @Override
+    public int valuatePartially(final Valuation values) {
+        final int v = wff.valuatePartially(values);
+        return v == Valuation.UNKNOWN ? Valuation.UNKNOWN : Valuation.TRUE - v;
+    }
+
+    @Override
+    public long valuateWord(final Map<String, Long> words) throws MissingSymbolException {
+        return ~wff.valuateWord(words);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof Negation negation)) {
+        if (!(o instanceof Negation negation) || hash != negation.hash) {
+            return false;
+        }
+        // distinct formulae interned by the same factory are structurally different
+        if (factory != null && factory == negation.factory) {
             return false;
         }
-        return wff().equals(negation.wff());
+        return wff.equals(negation.wff);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(wff());
+        return hash;
     }
 
     @Override
@@ -0,0 +1,68 @@
+package com.probendi.aris.formula;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table which assigns every symbol a dense index, in the order in which the symbols are added.
+ * <p>
+ * The indices address the bits of a {@link Valuation}, hence a symbol is looked up by name only once, when its atomic
+ * condition is created, rather than whenever the condition is valuated. A symbol table is not thread-safe.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class SymbolTable {
+
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+
+    /**
+     * Returns the index of the given symbol, which is added to this table if it is not there yet.
+     *
+     * @param symbol the symbol
+     * @return the symbol's index
+     * @throws IllegalArgumentException if symbol is {@code null}
+     */
+    public int index(final String symbol) {
+        if (symbol == null) {
+            throw new IllegalArgumentException("symbol cannot be null");
+        }
+        return indices.computeIfAbsent(symbol, k -> {
+            symbols.add(k);
+            return symbols.size() - 1;
+        });
+    }
+
+    /**
+     * Returns the index of the given symbol.
+     *
+     * @param symbol the symbol
+     * @return the symbol's index, or -1 if the symbol does not belong to this table
+     */
+    public int indexOf(final String symbol) {
+        final Integer index = indices.get(symbol);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the symbol with the given index.
+     *
+     * @param index the index
+     * @return the symbol
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public String getSymbol(final int index) {
+        return symbols.get(index);
+    }
+
+    /**
+     * Returns the number of symbols.
+     *
+     * @return the number of symbols
+     */
+    public int size() {
+        return symbols.size();
+    }
+}
@@ -0,0 +1,365 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.MissingSymbolException;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bit-parallel truth table, which valuates well-formed formulae against 64 rows at once.
+ * <p>
+ * Each row is identified by its index: the first six symbols take the same fixed bit pattern in every 64-bit word,
+ * whereas the remaining symbols are constant within a word and are derived from the word's index. Consequently, no
+ * row is ever materialised.
+ * <p>
+ * The formulae are compiled to postfix instructions, which are interpreted, unless the truth table is created to
+ * translate them into bytecode by means of an {@link AdaptiveEvaluator}, which pays off on large truth tables.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class TruthTable {
+
+    /**
+     * The maximum number of symbols a truth table can hold.
+     */
+    public static final int MAX_SYMBOLS = 62 + 6;
+
+    // the truth-values of the first six symbols in the 64 rows of a word
+    private static final long[] PATTERNS = {
+            0xAAAAAAAAAAAAAAAAL,
+            0xCCCCCCCCCCCCCCCCL,
+            0xF0F0F0F0F0F0F0F0L,
+            0xFF00FF00FF00FF00L,
+            0xFFFF0000FFFF0000L,
+            0xFFFFFFFF00000000L
+    };
+
+    // the number of words below which a range is not split any further
+    private static final long GRAIN = 1 << 10;
+
+    private final List<String> symbols;
+    private final boolean bytecode;
+
+    /**
+     * Creates a new truth table for the given symbols, which interprets the formulae.
+     *
+     * @param symbols the symbols
+     * @throws IllegalArgumentException if symbols is {@code null} or contains more than {@link #MAX_SYMBOLS} symbols
+     */
+    public TruthTable(final Collection<String> symbols) {
+        this(symbols, false);
+    }
+
+    /**
+     * Creates a new truth table for the given symbols.
+     *
+     * @param symbols  the symbols
+     * @param bytecode {@code true} if the formulae must be translated into bytecode once they have been valuated
+     *                 against {@link AdaptiveEvaluator#THRESHOLD} words
+     * @throws IllegalArgumentException if symbols is {@code null} or contains more than {@link #MAX_SYMBOLS} symbols
+     */
+    public TruthTable(final Collection<String> symbols, final boolean bytecode) {
+        if (symbols == null) {
+            throw new IllegalArgumentException("symbols cannot be null");
+        }
+        if (symbols.size() > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("symbols cannot contain more than " + MAX_SYMBOLS + " symbols");
+        }
+        this.symbols = new ArrayList<>(symbols);
+        this.bytecode = bytecode;
+    }
+
+    /**
+     * Creates a new truth table for the symbols of the given formulae, which interprets the formulae.
+     *
+     * @param formulae the formulae
+     * @return a new truth table
+     * @throws IllegalArgumentException if formulae is {@code null} or contains more than {@link #MAX_SYMBOLS} symbols
+     */
+    public static TruthTable of(final List<WellFormedFormula> formulae) {
+        return of(formulae, false);
+    }
+
+    /**
+     * Creates a new truth table for the symbols of the given formulae.
+     *
+     * @param formulae the formulae
+     * @param bytecode {@code true} if the formulae must be translated into bytecode once they have been valuated
+     *                 against {@link AdaptiveEvaluator#THRESHOLD} words
+     * @return a new truth table
+     * @throws IllegalArgumentException if formulae is {@code null} or contains more than {@link #MAX_SYMBOLS} symbols
+     */
+    public static TruthTable of(final List<WellFormedFormula> formulae, final boolean bytecode) {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        return new TruthTable(WellFormedFormula.collectSymbols(formulae), bytecode);
+    }
+
+    /**
+     * Returns the symbols.
+     *
+     * @return the symbols
+     */
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns the first row which makes all the given formulae true.
+     *
+     * @param formulae the formulae to be valuated
+     * @return the symbols' truth-values of the first row which makes all the given formulae true, or {@code null} if
+     * there is no such row
+     * @throws IllegalArgumentException if formulae is {@code null}
+     * @throws MissingSymbolException   if a formula contains a symbol which does not belong to this truth table
+     */
+    public Map<String, Boolean> findModel(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        return findModel(formulae, null);
+    }
+
+    /**
+     * Returns the first row which makes all the given formulae true, by splitting the rows into ranges which are
+     * valuated concurrently by the given pool.
+     * <p>
+     * As soon as a row is found, the ranges which follow it are abandoned.
+     *
+     * @param formulae the formulae to be valuated
+     * @param pool     the pool, or {@code null} if the rows must be valuated by the calling thread
+     * @return the symbols' truth-values of the first row which makes all the given formulae true, or {@code null} if
+     * there is no such row
+     * @throws IllegalArgumentException if formulae is {@code null}
+     * @throws MissingSymbolException   if a formula contains a symbol which does not belong to this truth table
+     */
+    public Map<String, Boolean> findModel(final List<WellFormedFormula> formulae, final ForkJoinPool pool)
+            throws MissingSymbolException {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        if (formulae.isEmpty()) {
+            return getRow(0, 0);
+        }
+        final CompiledFormula program = CompiledFormula.compile(formulae, symbols);
+        final long index = search(program, pool, false);
+        if (index == -1) {
+            return null;
+        }
+        return getRow(index, Long.numberOfTrailingZeros(program.evaluateWord(getWords(index)) & getMask()));
+    }
+
+    /**
+     * Returns {@code true} if a row makes all the given formulae true, by splitting the rows into ranges which are
+     * valuated concurrently by the given pool.
+     * <p>
+     * As soon as any row is found, all the ranges are abandoned, whether they precede it or not.
+     *
+     * @param formulae the formulae to be valuated
+     * @param pool     the pool, or {@code null} if the rows must be valuated by the calling thread
+     * @return {@code true} if a row makes all the given formulae true
+     * @throws IllegalArgumentException if formulae is {@code null}
+     * @throws MissingSymbolException   if a formula contains a symbol which does not belong to this truth table
+     */
+    public boolean isSatisfiable(final List<WellFormedFormula> formulae, final ForkJoinPool pool)
+            throws MissingSymbolException {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        if (formulae.isEmpty()) {
+            return true;
+        }
+        return search(CompiledFormula.compile(formulae, symbols), pool, true) != -1;
+    }
+
+    /**
+     * Returns the index of a word, which contains a row that makes the given formula true.
+     *
+     * @param program the formula
+     * @param pool    the pool, or {@code null} if the rows must be valuated by the calling thread
+     * @param any     {@code true} if any word will do, or {@code false} if the first word must be found
+     * @return the index of the word found, or -1 if none was found
+     */
+    private long search(final CompiledFormula program, final ForkJoinPool pool, final boolean any) {
+        final Evaluator evaluator = getEvaluator(program);
+        final int n = symbols.size();
+        final long count = n > PATTERNS.length ? 1L << (n - PATTERNS.length) : 1L;
+        if (pool == null || count <= GRAIN) {
+            return scan(evaluator, program.getDepth(), 0, count, null, any);
+        }
+        final AtomicLong found = new AtomicLong(Long.MAX_VALUE);
+        pool.invoke(new Search(evaluator, program.getDepth(), 0, count, found, any));
+        return found.get() == Long.MAX_VALUE ? -1 : found.get();
+    }
+
+    /**
+     * Returns an iterator over the rows which make all the given formulae true, in ascending order.
+     * <p>
+     * The rows are valuated lazily, 64 at a time, as the iterator advances, hence the iterator takes constant memory
+     * whatever the number of rows, and abandoning it abandons the enumeration.
+     *
+     * @param formulae the formulae to be valuated
+     * @return an iterator over the symbols' truth-values of the rows which make all the given formulae true
+     * @throws IllegalArgumentException if formulae is {@code null}
+     * @throws MissingSymbolException   if a formula contains a symbol which does not belong to this truth table
+     */
+    public Iterator<Map<String, Boolean>> models(final List<WellFormedFormula> formulae) throws MissingSymbolException {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        return new Models(formulae.isEmpty() ? null : CompiledFormula.compile(formulae, symbols));
+    }
+
+    private Evaluator getEvaluator(final CompiledFormula program) {
+        return bytecode ? new AdaptiveEvaluator(program) : program;
+    }
+
+    /**
+     * Returns the index of the first word, which contains a row that makes the given formula true.
+     *
+     * @param evaluator the formula
+     * @param depth     the formula's depth
+     * @param from      the index of the first word to be valuated, inclusive
+     * @param to        the index of the last word to be valuated, exclusive
+     * @param found     the index of the first word found by any thread, or {@code null} if the rows are valuated
+     *                  by a single thread
+     * @param any       {@code true} if the scan must be abandoned as soon as any thread found a word
+     * @return the index of the first word found, or -1 if none was found
+     */
+    private long scan(final Evaluator evaluator, final int depth, final long from, final long to,
+                      final AtomicLong found, final boolean any) {
+        final long[] words = getWords(from);
+        final long[] stack = new long[depth];
+        final long mask = getMask();
+        for (long index = from; index < to; index++) {
+            for (int j = PATTERNS.length; j < words.length; j++) {
+                words[j] = -(index >>> (j - PATTERNS.length) & 1);
+            }
+            if ((evaluator.evaluateWord(words, stack) & mask) != 0) {
+                return index;
+            }
+            // give up if another thread found a preceding row, or any row
+            if (found != null && (index & 63) == 0 && isAbandoned(found, index, any)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isAbandoned(final AtomicLong found, final long index, final boolean any) {
+        return any ? found.get() != Long.MAX_VALUE : found.get() < index;
+    }
+
+    private long[] getWords(final long index) {
+        final long[] words = new long[symbols.size()];
+        for (int j = 0; j < words.length; j++) {
+            words[j] = j < PATTERNS.length ? PATTERNS[j] : -(index >>> (j - PATTERNS.length) & 1);
+        }
+        return words;
+    }
+
+    private long getMask() {
+        // with fewer than six symbols, only the lowest 2^n bits of the only word are meaningful
+        final int n = symbols.size();
+        return n >= PATTERNS.length ? -1L : (1L << (1 << n)) - 1;
+    }
+
+    /**
+     * Returns the symbols' truth-values of the given row.
+     *
+     * @param index the word's index
+     * @param bit   the row's bit within the word
+     * @return the symbols' truth-values
+     */
+    private Map<String, Boolean> getRow(final long index, final int bit) {
+        final Map<String, Boolean> row = new HashMap<>();
+        for (int j = 0; j < symbols.size(); j++) {
+            row.put(symbols.get(j), j < PATTERNS.length ?
+                    (bit >>> j & 1) == 1 : (index >>> (j - PATTERNS.length) & 1) == 1);
+        }
+        return row;
+    }
+
+    /**
+     * Iterates over the rows which make a formula true, one word at a time.
+     */
+    private final class Models implements Iterator<Map<String, Boolean>> {
+
+        private final Evaluator evaluator;
+        private final long[] words = getWords(0);
+        private final long[] stack;
+        private final long count;
+        private long index = -1;
+        private long bits;
+
+        private Models(final CompiledFormula program) {
+            final int n = symbols.size();
+            evaluator = program == null ? null : getEvaluator(program);
+            stack = program == null ? null : new long[program.getDepth()];
+            count = n > PATTERNS.length ? 1L << (n - PATTERNS.length) : 1L;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (bits == 0 && index + 1 < count) {
+                index++;
+                for (int j = PATTERNS.length; j < words.length; j++) {
+                    words[j] = -(index >>> (j - PATTERNS.length) & 1);
+                }
+                // without formulae, every row is a model
+                bits = (evaluator == null ? -1L : evaluator.evaluateWord(words, stack)) & getMask();
+            }
+            return bits != 0;
+        }
+
+        @Override
+        public Map<String, Boolean> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int bit = Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            return getRow(index, bit);
+        }
+    }
+
+    /**
+     * Searches a range of words, and splits it in two halves if it is too large.
+     */
+    private final class Search extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Evaluator evaluator;
+        private final int depth;
+        private final long from;
+        private final long to;
+        private final AtomicLong found;
+        private final boolean any;
+
+        private Search(final Evaluator evaluator, final int depth, final long from, final long to,
+                       final AtomicLong found, final boolean any) {
+            this.evaluator = evaluator;
+            this.depth = depth;
+            this.from = from;
+            this.to = to;
+            this.found = found;
+            this.any = any;
+        }
+
+        @Override
+        protected void compute() {
+            if (isAbandoned(found, from, any)) return;
+            if (to - from <= GRAIN) {
+                final long index = scan(evaluator, depth, from, to, found, any);
+                if (index != -1) {
+                    found.accumulateAndGet(index, Math::min);
+                }
+            } else {
+                final long middle = from + (to - from) / 2;
+                invokeAll(new Search(evaluator, depth, from, middle, found, any),
+                        new Search(evaluator, depth, middle, to, found, any));
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.probendi.aris.formula;
+
+import java.util.*;
+
+/**
+ * Encodes well-formed formulae as equisatisfiable clauses, whose size is linear in the size of the formulae.
+ * <p>
+ * Every binary subformula is replaced by an auxiliary variable, which is defined by the Plaisted–Greenbaum
+ * transformation, i.e., only the implications required by the polarity of the subformula are encoded. Negations do
+ * not introduce any variable, and the conjunctions at the top of the formulae are split into separate clauses.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class TseitinEncoder {
+
+    private static final int POSITIVE = 1;
+    private static final int NEGATIVE = 2;
+
+    private final Map<String, Integer> symbols = new LinkedHashMap<>();
+
+    // the variable of every binary subformula and the polarities already encoded for it
+    private final Map<WellFormedFormula, Integer> variables = new IdentityHashMap<>();
+    private final Map<WellFormedFormula, Integer> polarities = new IdentityHashMap<>();
+
+    private int[] literals = new int[16];
+    private int[] offsets = new int[16];
+    private int size;
+    private int clauses;
+    private int count;
+
+    private TseitinEncoder() {
+    }
+
+    /**
+     * Encodes the conjunction of the given formulae.
+     *
+     * @param formulae the formulae to be encoded
+     * @return the clauses which are satisfiable if and only if all the given formulae can be true at once
+     * @throws IllegalArgumentException if formulae is {@code null}
+     */
+    public static Cnf encode(final List<WellFormedFormula> formulae) {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        final TseitinEncoder encoder = new TseitinEncoder();
+        for (final WellFormedFormula wff : formulae) {
+            encoder.assertTrue(wff);
+        }
+        encoder.offsets = Arrays.copyOf(encoder.offsets, encoder.clauses + 1);
+        encoder.offsets[encoder.clauses] = encoder.size;
+        return new Cnf(encoder.count, Arrays.copyOf(encoder.literals, encoder.size), encoder.offsets, encoder.symbols);
+    }
+
+    private void assertTrue(final WellFormedFormula wff) {
+        if (wff instanceof Conjunction conjunction) {
+            assertTrue(conjunction.wff1());
+            assertTrue(conjunction.wff2());
+        } else if (wff instanceof Negation negation && negation.wff() instanceof Negation inner) {
+            assertTrue(inner.wff());
+        } else {
+            addClause(encode(wff, POSITIVE));
+        }
+    }
+
+    /**
+     * Returns the literal which stands for the given formula, and encodes its definition for the given polarity.
+     *
+     * @param wff      the formula
+     * @param polarity the polarity, i.e., whether the formula occurs positively, negatively or both
+     * @return the formula's literal
+     */
+    private int encode(final WellFormedFormula wff, final int polarity) {
+        if (wff instanceof AtomicCondition atom) {
+            return symbols.computeIfAbsent(atom.getValue(), k -> ++count);
+        } else if (wff instanceof Negation negation) {
+            return -encode(negation.wff(), flip(polarity));
+        }
+
+        final Integer variable = variables.get(wff);
+        final int x = variable == null ? ++count : variable;
+        if (variable == null) {
+            variables.put(wff, x);
+        }
+        final int encoded = polarities.getOrDefault(wff, 0);
+        final int missing = polarity & ~encoded;
+        if (missing == 0) return x;
+        polarities.put(wff, encoded | polarity);
+
+        if (wff instanceof Conjunction conjunction) {
+            final int a = encode(conjunction.wff1(), missing);
+            final int b = encode(conjunction.wff2(), missing);
+            if ((missing & POSITIVE) != 0) {
+                addClause(-x, a);
+                addClause(-x, b);
+            }
+            if ((missing & NEGATIVE) != 0) {
+                addClause(x, -a, -b);
+            }
+        } else if (wff instanceof Disjunction disjunction) {
+            final int a = encode(disjunction.wff1(), missing);
+            final int b = encode(disjunction.wff2(), missing);
+            if ((missing & POSITIVE) != 0) {
+                addClause(-x, a, b);
+            }
+            if ((missing & NEGATIVE) != 0) {
+                addClause(x, -a);
+                addClause(x, -b);
+            }
+        } else if (wff instanceof Conditional conditional) {
+            final int a = encode(conditional.wff1(), flip(missing));
+            final int b = encode(conditional.wff2(), missing);
+            if ((missing & POSITIVE) != 0) {
+                addClause(-x, -a, b);
+            }
+            if ((missing & NEGATIVE) != 0) {
+                addClause(x, a);
+                addClause(x, -b);
+            }
+        } else {
+            throw new IllegalArgumentException("unsupported formula " + wff);
+        }
+        return x;
+    }
+
+    private static int flip(final int polarity) {
+        return (polarity & POSITIVE) << 1 | (polarity & NEGATIVE) >> 1;
+    }
+
+    private void addClause(final int... clause) {
+        if (size + clause.length > literals.length) {
+            literals = Arrays.copyOf(literals, Math.max(2 * literals.length, size + clause.length));
+        }
+        if (clauses + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+        }
+        offsets[clauses++] = size;
+        System.arraycopy(clause, 0, literals, size, clause.length);
+        size += clause.length;
+    }
+}
@@ -0,0 +1,174 @@
+package com.probendi.aris.formula;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The truth-values of the symbols of a {@link SymbolTable}, packed into a bitset, together with a bitset of the
+ * symbols whose truth-values are known.
+ * <p>
+ * A valuation takes two bits per symbol, and valuates an atomic condition created by the same table, e.g., by a
+ * {@link FormulaFactory}, by testing a bit, without hashing its symbol. A valuation is not thread-safe.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Valuation {
+
+    /**
+     * The truth-value {@code true} of a three-valued valuation.
+     */
+    public static final int TRUE = 1;
+
+    /**
+     * The truth-value {@code false} of a three-valued valuation.
+     */
+    public static final int FALSE = 0;
+
+    /**
+     * The unknown truth-value of a three-valued valuation.
+     */
+    public static final int UNKNOWN = -1;
+
+    private final SymbolTable symbols;
+    private long[] bits = new long[1];
+    private long[] known = new long[1];
+
+    /**
+     * Creates a new valuation of the given symbols, none of which is known.
+     *
+     * @param symbols the symbols
+     * @throws IllegalArgumentException if symbols is {@code null}
+     */
+    public Valuation(final SymbolTable symbols) {
+        if (symbols == null) {
+            throw new IllegalArgumentException("symbols cannot be null");
+        }
+        this.symbols = symbols;
+    }
+
+    /**
+     * Returns the symbols.
+     *
+     * @return the symbols
+     */
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Returns the index of the given atomic condition's symbol.
+     * <p>
+     * The index held by the condition is used if it was given by this valuation's table, otherwise the symbol is
+     * looked up by name.
+     *
+     * @param atom the atomic condition
+     * @return the index, or -1 if the symbol does not belong to this valuation's table
+     */
+    public int indexOf(final AtomicCondition atom) {
+        final int index = atom.getIndex();
+        if (index >= 0 && index < symbols.size() && symbols.getSymbol(index).equals(atom.getValue())) {
+            return index;
+        }
+        return symbols.indexOf(atom.getValue());
+    }
+
+    /**
+     * Returns the truth-value of the given atomic condition's symbol.
+     *
+     * @param atom the atomic condition
+     * @return {@link #TRUE}, {@link #FALSE} or {@link #UNKNOWN}
+     */
+    public int valueOf(final AtomicCondition atom) {
+        final int index = indexOf(atom);
+        if (index < 0 || index >> 6 >= known.length) {
+            return UNKNOWN;
+        }
+        final long bit = 1L << index;
+        return (known[index >> 6] & bit) == 0 ? UNKNOWN : (bits[index >> 6] & bit) == 0 ? FALSE : TRUE;
+    }
+
+    /**
+     * Returns {@code true} if the truth-value of the symbol with the given index is known.
+     *
+     * @param index the index
+     * @return {@code true} if the truth-value is known
+     */
+    public boolean isKnown(final int index) {
+        return index >= 0 && index >> 6 < known.length && (known[index >> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Returns the truth-value of the symbol with the given index, which is {@code false} if it is not known.
+     *
+     * @param index the index
+     * @return the truth-value
+     */
+    public boolean get(final int index) {
+        return index >= 0 && index >> 6 < bits.length && (bits[index >> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Sets the truth-value of the symbol with the given index.
+     *
+     * @param index the index
+     * @param value the truth-value
+     * @return {@code true} if the truth-value was not known or was different
+     * @throws IndexOutOfBoundsException if index is negative
+     */
+    public boolean set(final int index, final boolean value) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index >> 6 >= bits.length) {
+            final int length = Math.max(2 * bits.length, (index >> 6) + 1);
+            bits = Arrays.copyOf(bits, length);
+            known = Arrays.copyOf(known, length);
+        }
+        final int i = index >> 6;
+        final long bit = 1L << index;
+        final boolean changed = (known[i] & bit) == 0 || (bits[i] & bit) != 0 != value;
+        known[i] |= bit;
+        bits[i] = value ? bits[i] | bit : bits[i] & ~bit;
+        return changed;
+    }
+
+    /**
+     * Sets the truth-value of the given symbol, which is added to the table if it is not there yet.
+     *
+     * @param symbol the symbol
+     * @param value  the truth-value
+     * @return {@code true} if the truth-value was not known or was different
+     * @throws IllegalArgumentException if symbol is {@code null}
+     */
+    public boolean set(final String symbol, final boolean value) {
+        return set(symbols.index(symbol), value);
+    }
+
+    /**
+     * Forgets the truth-value of the symbol with the given index.
+     *
+     * @param index the index
+     */
+    public void clear(final int index) {
+        if (index >= 0 && index >> 6 < known.length) {
+            known[index >> 6] &= ~(1L << index);
+            bits[index >> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Returns the known truth-values, keyed by symbol.
+     *
+     * @return the known truth-values
+     */
+    public Map<String, Boolean> toMap() {
+        final Map<String, Boolean> map = new HashMap<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            if (isKnown(i)) {
+                map.put(symbols.getSymbol(i), get(i));
+            }
+        }
+        return map;
+    }
+}
@@ -4,9 +4,7 @@ import com.probendi.aris.exception.MissingSymbolException;
 import com.probendi.aris.exception.UnexpectedSymbolException;
 import com.probendi.aris.token.*;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Queue;
+import java.util.*;
 
 /**
  * A well-formed formula of a propositional logic language.
@@ -40,13 +38,104 @@ public interface WellFormedFormula {
     boolean valuate(final Map<String, Boolean> values) throws MissingSymbolException;
 
     /**
-     * Parses a well-formed formula from the given tokens.
+     * Valuates this formula against a compact valuation, whose bits are addressed by the atomic conditions' indices.
+     *
+     * @param values the symbols' truth-values
+     * @return {@code true} if this formula preserves the truth
+     * @throws IllegalArgumentException if values is {@code null}
+     * @throws MissingSymbolException   if this formula could not be evaluated because a symbol has no value
+     */
+    boolean valuate(final Valuation values) throws MissingSymbolException;
+
+    /**
+     * Valuates this formula against a partial valuation, by the rules of Kleene's three-valued logic.
+     * <p>
+     * The result is known as soon as it does not depend on the unknown symbols, e.g., a conjunction is false as soon
+     * as one of its subformulae is false, and it is the same in every valuation which extends the given one.
+     *
+     * @param values the symbols' truth-values, some of which can be unknown
+     * @return {@link Valuation#TRUE}, {@link Valuation#FALSE} or {@link Valuation#UNKNOWN}
+     * @throws IllegalArgumentException if values is {@code null}
+     */
+    int valuatePartially(final Valuation values);
+
+    /**
+     * Valuates this formula against 64 valuations at once.
+     * <p>
+     * Bit {@code i} of each word holds the symbol's truth-value in the {@code i}-th valuation, and bit {@code i} of the
+     * returned word holds this formula's truth-value in the same valuation.
+     *
+     * @param words a map containing the symbols' truth-values packed into 64-bit words
+     * @return the formula's truth-values packed into a 64-bit word
+     * @throws IllegalArgumentException if words is {@code null}
+     * @throws MissingSymbolException   if this formula could not be evaluated because a symbol has no value
+     */
+    long valuateWord(final Map<String, Long> words) throws MissingSymbolException;
+
+    /**
+     * Returns the symbols of the given formulae, in the order of their first occurrence from left to right.
+     * <p>
+     * Every subformula is visited once, even if it is shared by several formulae, hence the symbols are collected in
+     * linear time, unlike by walking the formulae's conditions.
+     *
+     * @param formulae the formulae
+     * @return the symbols of the given formulae
+     * @throws IllegalArgumentException if formulae is {@code null}
+     */
+    static Set<String> collectSymbols(final List<WellFormedFormula> formulae) {
+        if (formulae == null) {
+            throw new IllegalArgumentException("formulae cannot be null");
+        }
+        final Set<String> symbols = new LinkedHashSet<>();
+        final Set<WellFormedFormula> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<WellFormedFormula> stack = new ArrayDeque<>();
+        for (int i = formulae.size() - 1; i >= 0; i--) {
+            stack.push(formulae.get(i));
+        }
+        // the right subformulae are pushed first, so that the left ones are visited first
+        while (!stack.isEmpty()) {
+            final WellFormedFormula wff = stack.pop();
+            if (!visited.add(wff)) {
+                continue;
+            }
+            if (wff instanceof AtomicCondition atom) {
+                symbols.add(atom.getValue());
+            } else if (wff instanceof Negation negation) {
+                stack.push(negation.wff());
+            } else if (wff instanceof Conjunction conjunction) {
+                stack.push(conjunction.wff2());
+                stack.push(conjunction.wff1());
+            } else if (wff instanceof Disjunction disjunction) {
+                stack.push(disjunction.wff2());
+                stack.push(disjunction.wff1());
+            } else if (wff instanceof Conditional conditional) {
+                stack.push(conditional.wff2());
+                stack.push(conditional.wff1());
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Parses a well-formed formula from the given tokens, whose subformulae are interned by a new factory.
      *
      * @param tokens the tokens to be parsed
      * @return a well-formed formula
      * @throws UnexpectedSymbolException if an unexpected symbol was found
      */
     static WellFormedFormula parse(final Queue<Token> tokens) throws UnexpectedSymbolException {
+        return parse(tokens, new FormulaFactory());
+    }
+
+    /**
+     * Parses a well-formed formula from the given tokens, whose subformulae are interned by the given factory.
+     *
+     * @param tokens  the tokens to be parsed
+     * @param factory the factory
+     * @return a well-formed formula
+     * @throws UnexpectedSymbolException if an unexpected symbol was found
+     */
+    static WellFormedFormula parse(final Queue<Token> tokens, final FormulaFactory factory) throws UnexpectedSymbolException {
         Token token;
         if ((token = tokens.peek()) != null) {
             if (token instanceof Comma || token instanceof RBracket || token instanceof Therefore) {
@@ -54,11 +143,11 @@ public interface WellFormedFormula {
             }
             token = tokens.remove();
             if (token instanceof Atom) {
-                return new AtomicCondition(token.getValue());
+                return factory.atom(token.getValue());
             } else if (token instanceof Not) {
-                return new Negation(parse(tokens));
+                return factory.negation(parse(tokens, factory));
             } else if (token instanceof LBracket) {
-                return parseBinary(tokens);
+                return parseBinary(tokens, factory);
             }
         }
         throw new UnexpectedSymbolException();
@@ -67,21 +156,23 @@ public interface WellFormedFormula {
     /**
      * Parses a well-formed binary formula from the given tokens.
      *
-     * @param tokens the tokens to be parsed
+     * @param tokens  the tokens to be parsed
+     * @param factory the factory
      * @return a well-formed binary formula
      * @throws UnexpectedSymbolException if an unexpected symbol was found
      */
-    private static WellFormedFormula parseBinary(final Queue<Token> tokens) throws UnexpectedSymbolException {
-        final WellFormedFormula wff1 = parse(tokens);
+    private static WellFormedFormula parseBinary(final Queue<Token> tokens, final FormulaFactory factory)
+            throws UnexpectedSymbolException {
+        final WellFormedFormula wff1 = parse(tokens, factory);
         final Token operator = tokens.remove();
-        final WellFormedFormula wff2 = parse(tokens);
+        final WellFormedFormula wff2 = parse(tokens, factory);
         final WellFormedFormula formula;
         if (operator instanceof And) {
-            formula = new Conjunction(wff1, wff2);
+            formula = factory.conjunction(wff1, wff2);
         } else if (operator instanceof Or) {
-            formula = new Disjunction(wff1, wff2);
+            formula = factory.disjunction(wff1, wff2);
         } else {
-            formula = new Conditional(wff1, wff2);
+            formula = factory.conditional(wff1, wff2);
         }
         tokens.remove();
         return formula;
@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code ∧} token.
  * <p>
@@ -13,7 +11,7 @@ public class And extends Token {
      * Creates a new {@code ∧} token.
      */
     public And() {
-        super(List.of(Atom.class, LBracket.class, Not.class));
+        super(TokenKind.AND);
     }
 
     @Override
@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code argument} token.
  * <p>
@@ -13,7 +11,7 @@ public class Argument extends Token {
      * Creates a new {@code argument} token.
      */
     public Argument() {
-        super(List.of(Identifier.class));
+        super(TokenKind.ARGUMENT);
     }
 
     @Override
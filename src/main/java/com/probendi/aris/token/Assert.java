@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code assert} token.
  * <p>
@@ -13,7 +11,7 @@ public class Assert extends Token {
      * Creates a new {@code assert} token.
      */
     public Assert() {
-        super(List.of(Identifier.class));
+        super(TokenKind.ASSERT);
     }
 
     @Override
@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code :=} token.
  * <p>
@@ -13,7 +11,7 @@ public class Assign extends Token {
      * Creates a new {@code :=} token.
      */
     public Assign() {
-        super(List.of(Atom.class, False.class, LBracket.class, Not.class, True.class));
+        super(TokenKind.ASSIGN);
     }
 
     @Override
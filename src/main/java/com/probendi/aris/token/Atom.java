@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * An atom.
  * <p>
@@ -15,15 +13,6 @@ public class Atom extends Token {
      * @param value the value
      */
     public Atom(final String value) {
-        super(List.of(
-                And.class,
-                Assign.class,
-                Comma.class,
-                MaterialImplication.class,
-                LBracket.class,
-                Or.class,
-                RBracket.class,
-                Therefore.class), value
-        );
+        super(TokenKind.ATOM, value);
     }
 }
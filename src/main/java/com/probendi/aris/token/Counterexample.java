@@ -0,0 +1,21 @@
+package com.probendi.aris.token;
+
+/**
+ * The {@code counterexample} token.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public class Counterexample extends Token {
+
+    /**
+     * Creates a new {@code counterexample} token.
+     */
+    public Counterexample() {
+        super(TokenKind.COUNTEREXAMPLE);
+    }
+
+    @Override
+    public String toString() {
+        return "counterexample";
+    }
+}
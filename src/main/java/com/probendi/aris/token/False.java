@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code false} token.
  * <p>
@@ -13,7 +11,7 @@ public class False extends Token {
      * Creates a new {@code false} token.
      */
     public False() {
-        super(List.of());
+        super(TokenKind.FALSE);
     }
 
     @Override
@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * An identifier.
  * <p>
@@ -15,6 +13,6 @@ public class Identifier extends Token {
      * @param value the value
      */
     public Identifier(final String value) {
-        super(List.of(Assign.class), value);
+        super(TokenKind.IDENTIFIER, value);
     }
 }
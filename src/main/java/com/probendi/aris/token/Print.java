@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code print} token.
  * <p>
@@ -13,7 +11,7 @@ public class Print extends Token {
      * Creates a new {@code print} token.
      */
     public Print() {
-        super(List.of(TString.class));
+        super(TokenKind.PRINT);
     }
 
     @Override
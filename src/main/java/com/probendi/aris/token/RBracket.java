@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code )} token.
  * <p>
@@ -13,7 +11,7 @@ public class RBracket extends Token {
      * Creates a new {@code )} token.
      */
     public RBracket() {
-        super(List.of(And.class, MaterialImplication.class, Comma.class, Or.class, RBracket.class, Therefore.class));
+        super(TokenKind.R_BRACKET);
     }
 
     @Override
@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * A string.
  * <p>
@@ -15,7 +13,7 @@ public class TString extends Token {
      * @param value the value
      */
     public TString(final String value) {
-        super(List.of(), value);
+        super(TokenKind.STRING, value);
     }
 
     @Override
@@ -1,6 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -10,7 +9,7 @@ import java.util.Objects;
  */
 public abstract class Token {
 
-    private final List<Class<? extends Token>> validTokens;
+    private final TokenKind kind;
 
     /**
      * The token's value, which could be e.g., an identifier's name, a string's content etc.
@@ -18,25 +17,34 @@ public abstract class Token {
     protected String value;
 
     /**
-     * Creates a new token with the list of tokens which can follow it.
+     * Creates a new token of the given kind.
      *
-     * @param validTokens the list of tokens which can follow this token
+     * @param kind the kind, which determines the tokens which can follow this token
      */
-    protected Token(final List<Class<? extends Token>> validTokens) {
-        this.validTokens = validTokens;
+    protected Token(final TokenKind kind) {
+        this.kind = kind;
     }
 
     /**
-     * Creates a new token with the list of tokens which can follow it and a value.
+     * Creates a new token of the given kind with a value.
      *
-     * @param validTokens the list of tokens which can follow this token
-     * @param value       the value
+     * @param kind  the kind, which determines the tokens which can follow this token
+     * @param value the value
      */
-    protected Token(final List<Class<? extends Token>> validTokens, final String value) {
-        this.validTokens = validTokens;
+    protected Token(final TokenKind kind, final String value) {
+        this.kind = kind;
         this.value = value;
     }
 
+    /**
+     * Returns the kind.
+     *
+     * @return the kind
+     */
+    public TokenKind getKind() {
+        return kind;
+    }
+
     /**
      * Returns the value.
      *
@@ -57,7 +65,7 @@ public abstract class Token {
         if (next == null) {
             throw new IllegalArgumentException("next cannot be null");
         }
-        return validTokens.contains(next.getClass());
+        return kind.canFollow(next.kind);
     }
 
     @Override
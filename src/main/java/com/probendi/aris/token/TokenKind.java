@@ -0,0 +1,75 @@
+package com.probendi.aris.token;
+
+/**
+ * The kinds of tokens, each of which knows the kinds that can follow it.
+ * <p>
+ * The kinds that can follow a kind are stored as a bitmask indexed by ordinal, hence checking whether a token can
+ * follow another one is a single bit test.
+ * <p>
+ * {@code @Copyright}, 2023 Daniele Di Salvo
+ */
+public enum TokenKind {
+    AND,
+    ARGUMENT,
+    ASSERT,
+    ASSIGN,
+    ATOM,
+    COMMA,
+    COUNTEREXAMPLE,
+    FALSE,
+    IDENTIFIER,
+    L_BRACKET,
+    MATERIAL_IMPLICATION,
+    NOT,
+    OR,
+    PRINT,
+    R_BRACKET,
+    STRING,
+    THEREFORE,
+    TRUE,
+    VALIDATE,
+    VALUATE;
+
+    // the kinds which can follow a kind, indexed by ordinal
+    private static final long[] follow = new long[values().length];
+
+    static {
+        follow(AND, ATOM, L_BRACKET, NOT);
+        follow(ARGUMENT, IDENTIFIER);
+        follow(ASSERT, IDENTIFIER);
+        follow(ASSIGN, ATOM, FALSE, L_BRACKET, NOT, TRUE);
+        follow(ATOM, AND, ASSIGN, COMMA, MATERIAL_IMPLICATION, L_BRACKET, OR, R_BRACKET, THEREFORE);
+        follow(COMMA, ATOM, L_BRACKET, NOT);
+        follow(COUNTEREXAMPLE, IDENTIFIER);
+        follow(IDENTIFIER, ASSIGN);
+        follow(L_BRACKET, ATOM, L_BRACKET, NOT);
+        follow(MATERIAL_IMPLICATION, ATOM, L_BRACKET, NOT);
+        follow(NOT, ATOM, L_BRACKET, NOT);
+        follow(OR, ATOM, L_BRACKET, NOT);
+        follow(PRINT, STRING);
+        follow(R_BRACKET, AND, MATERIAL_IMPLICATION, COMMA, OR, R_BRACKET, THEREFORE);
+        follow(THEREFORE, ATOM, L_BRACKET, NOT);
+        follow(VALIDATE, IDENTIFIER);
+        follow(VALUATE, IDENTIFIER);
+    }
+
+    private static void follow(final TokenKind kind, final TokenKind... next) {
+        for (final TokenKind k : next) {
+            follow[kind.ordinal()] |= 1L << k.ordinal();
+        }
+    }
+
+    /**
+     * Returns {@code true} if a token of the given kind can follow a token of this kind.
+     *
+     * @param next the next kind
+     * @return {@code true} if a token of the given kind can follow a token of this kind
+     * @throws IllegalArgumentException if next is {@code null}
+     */
+    public boolean canFollow(final TokenKind next) {
+        if (next == null) {
+            throw new IllegalArgumentException("next cannot be null");
+        }
+        return (follow[ordinal()] & 1L << next.ordinal()) != 0;
+    }
+}
@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code true} token.
  * <p>
@@ -13,7 +11,7 @@ public class True extends Token {
      * Creates a new {@code true} token.
      */
     public True() {
-        super(List.of());
+        super(TokenKind.TRUE);
     }
 
     @Override
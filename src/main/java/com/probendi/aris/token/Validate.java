@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code validate} token.
  * <p>
@@ -13,7 +11,7 @@ public class Validate extends Token {
      * Creates a new {@code validate} token.
      */
     public Validate() {
-        super(List.of(Identifier.class));
+        super(TokenKind.VALIDATE);
     }
 
     @Override
@@ -1,7 +1,5 @@
 package com.probendi.aris.token;
 
-import java.util.List;
-
 /**
  * The {@code valuate} token.
  * <p>
@@ -13,7 +11,7 @@ public class Valuate extends Token {
      * Creates a new {@code valuate} token.
      */
     public Valuate() {
-        super(List.of(Identifier.class));
+        super(TokenKind.VALUATE);
     }
 
     @Override
@@ -5,6 +5,7 @@ import com.probendi.aris.exception.UnexpectedCharacterException;
 import com.probendi.aris.exception.UnexpectedEndOfLineException;
 import com.probendi.aris.exception.UnexpectedSymbolException;
 import com.probendi.aris.token.*;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -14,10 +15,19 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class LexicalAnalyzerTest {
@@ -31,10 +41,13 @@ public class LexicalAnalyzerTest {
     private static final Atom Q = new Atom("Q");
     private static final Atom R = new Atom("R");
     private static final Comma COMMA = new Comma();
+    private static final Counterexample COUNTEREXAMPLE = new Counterexample();
+    private static final False FALSE = new False();
     private static final Identifier ARG_1 = new Identifier("arg1");
     private static final Identifier ARG_2 = new Identifier("arg2");
     private static final Identifier ARG_3 = new Identifier("arg3");
     private static final LBracket L_BRACKET = new LBracket();
+    private static final MaterialImplication MATERIAL_IMPLICATION = new MaterialImplication();
     private static final Not NOT = new Not();
     private static final Or OR = new Or();
     private static final Print PRINT = new Print();
@@ -74,6 +87,21 @@ public class LexicalAnalyzerTest {
         assertEquals(expected, lexer.getTokens());
     }
 
+    @ParameterizedTest
+    @ArgumentsSource(LexicalAnalyzerArgumentsProvider.class)
+    void testNext(final String line, final List<List<Token>> expected) throws IOException, ArisException {
+        final List<Queue<Token>> actual = new ArrayList<>();
+        try (final Reader reader = new StringReader(line)) {
+            final LexicalAnalyzer lexer = new LexicalAnalyzer(reader);
+            Queue<Token> tokens;
+            while ((tokens = lexer.next()) != null) {
+                actual.add(tokens);
+            }
+            assertNull(lexer.next());
+        }
+        assertEquals(expected, actual);
+    }
+
     @ParameterizedTest
     @ArgumentsSource(LexicalAnalyzerFailsArgumentsProvider.class)
     void testTokenizeFails(final String line, final Class<? extends ArisException> clazz, final String message) throws IOException {
@@ -85,6 +113,136 @@ public class LexicalAnalyzerTest {
         }
     }
 
+    @ParameterizedTest
+    @ArgumentsSource(LexicalAnalyzerArgumentsProvider.class)
+    void testTokenizeMapped(final String line, final List<List<Token>> expected) throws ArisException {
+        final LexicalAnalyzer lexer = new LexicalAnalyzer(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        lexer.tokenize();
+        assertEquals(expected, lexer.getTokens());
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(LexicalAnalyzerFailsArgumentsProvider.class)
+    void testTokenizeMappedFails(final String line, final Class<? extends ArisException> clazz, final String message) {
+        final LexicalAnalyzer lexer = new LexicalAnalyzer(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        final ArisException e = assertThrows(ArisException.class, lexer::tokenize);
+        assertEquals(clazz.getSimpleName(), e.getClass().getSimpleName());
+        assertEquals(message, e.getMessage());
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(LexicalAnalyzerArgumentsProvider.class)
+    void testTokenizeParallel(final String line, final List<List<Token>> expected) throws ArisException {
+        // the script is repeated, so that it is split into several chunks
+        final String script = (line + "\n").repeat(10_000);
+        final List<List<Token>> lines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            lines.addAll(expected);
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final LexicalAnalyzer lexer = new LexicalAnalyzer(new StringReader(script));
+            lexer.tokenize(pool);
+            assertEquals(lines, lexer.getTokens());
+
+            final LexicalAnalyzer mapped = new LexicalAnalyzer(ByteBuffer.wrap(script.getBytes(StandardCharsets.UTF_8)));
+            mapped.tokenize(pool);
+            assertEquals(lines, mapped.getTokens());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(LexicalAnalyzerFailsArgumentsProvider.class)
+    void testTokenizeParallelFails(final String line, final Class<? extends ArisException> clazz, final String message) {
+        // the first error is thrown, even if a later chunk contains another one
+        final String script = "P := true\n".repeat(100_000) + line + "\n" + "P := true\n".repeat(100_000) + "P*\n";
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final LexicalAnalyzer lexer = new LexicalAnalyzer(ByteBuffer.wrap(script.getBytes(StandardCharsets.UTF_8)));
+            final ArisException e = assertThrows(ArisException.class, () -> lexer.tokenize(pool));
+            assertEquals(clazz.getSimpleName(), e.getClass().getSimpleName());
+            assertEquals(message, e.getMessage());
+            assertEquals(100_000, lexer.getTokens().size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(TokenKindArgumentsProvider.class)
+    void testTokenKinds(final String line, final List<Token> expected) throws ArisException {
+        assertEquals(expected, new ArrayList<>(LexicalAnalyzer.tokenize(line)));
+        final LexicalAnalyzer lexer = new LexicalAnalyzer(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        lexer.tokenize();
+        assertEquals(List.of(expected), lexer.getTokens());
+    }
+
+    @Test
+    void testTokenKindsCovered() {
+        final Set<TokenKind> kinds = EnumSet.noneOf(TokenKind.class);
+        new TokenKindArgumentsProvider().provideArguments(null)
+                .forEach(arguments -> ((List<?>) arguments.get()[1]).forEach(t -> kinds.add(((Token) t).getKind())));
+        assertEquals(EnumSet.allOf(TokenKind.class), kinds);
+    }
+
+    @Test
+    void testMappedMatchesLines() {
+        // the byte scanner of the mapped input and the line tokenizer agree on random lines, valid or not
+        final String[] fragments = {
+                " ", "\t", "P", "Q1", "R'", "S_", "arg", "x_1", "(", ")", "&", "∧", "|", "∨", "~", "!", "¬", "->", "→",
+                "⊃", ":=", ":", "-", ",", "∴", "therefore", "true", "false", "print", "argument", "assert",
+                "counterexample", "validate", "valuate", "valuatex", "\"s ∧ t\"", "\"", "*", "é", "//", "0"
+        };
+        final Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int n = 1 + random.nextInt(8);
+            for (int j = 0; j < n; j++) {
+                builder.append(fragments[random.nextInt(fragments.length)]);
+                if (random.nextBoolean()) {
+                    builder.append(' ');
+                }
+            }
+            final String line = builder.toString();
+            final LexicalAnalyzer lexer = new LexicalAnalyzer(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+            try {
+                final Queue<Token> expected = LexicalAnalyzer.tokenize(line);
+                lexer.tokenize();
+                assertEquals(expected.isEmpty() ? List.of() : List.of(expected), new ArrayList<>(lexer.getTokens()), line);
+            } catch (final ArisException expected) {
+                final ArisException e = assertThrows(ArisException.class, lexer::tokenize, line);
+                assertEquals(expected.getClass(), e.getClass(), line);
+                assertEquals(expected.getMessage(), e.getMessage(), line);
+            }
+        }
+    }
+
+    static class TokenKindArgumentsProvider implements ArgumentsProvider {
+        @Override
+        public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+            return Stream.of(
+                    Arguments.of("P := false", List.of(P, ASSIGN, FALSE)),
+                    Arguments.of("assert arg1", List.of(ASSERT, ARG_1)),
+                    Arguments.of("argument arg1 := (P -> Q), (Q → R) therefore (P ⊃ R)",
+                            List.of(ARGUMENT, ARG_1, ASSIGN, L_BRACKET, P, MATERIAL_IMPLICATION, Q, R_BRACKET, COMMA,
+                                    L_BRACKET, Q, MATERIAL_IMPLICATION, R, R_BRACKET, THEREFORE,
+                                    L_BRACKET, P, MATERIAL_IMPLICATION, R, R_BRACKET)),
+                    Arguments.of("argument arg2 := ~P, !Q, ¬R ∴ (P | (Q ∨ R))",
+                            List.of(ARGUMENT, ARG_2, ASSIGN, NOT, P, COMMA, NOT, Q, COMMA, NOT, R, THEREFORE,
+                                    L_BRACKET, P, OR, L_BRACKET, Q, OR, R, R_BRACKET, R_BRACKET)),
+                    Arguments.of("argument arg3 := (P & (Q ∧ R)) // a comment",
+                            List.of(ARGUMENT, ARG_3, ASSIGN, L_BRACKET, P, AND, L_BRACKET, Q, AND, R, R_BRACKET,
+                                    R_BRACKET)),
+                    Arguments.of("print \"Hello, Aris!\"", List.of(PRINT, HELLO_ARIS)),
+                    Arguments.of("\tcounterexample arg2", List.of(COUNTEREXAMPLE, ARG_2)),
+                    Arguments.of("validate arg1", List.of(VALIDATE, ARG_1)),
+                    Arguments.of("valuate arg3 ", List.of(VALUATE, ARG_3)),
+                    Arguments.of("P1 := true", List.of(P1, ASSIGN, TRUE)));
+        }
+    }
+
     static class LexicalAnalyzerArgumentsProvider implements ArgumentsProvider {
         private static final String text = """
                 print "Hello, Aris!"
@@ -107,6 +265,7 @@ public class LexicalAnalyzerTest {
         public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
             return Stream.of(
                     Arguments.of("P1 := true", List.of(List.of(P1, ASSIGN, TRUE))),
+                    Arguments.of("counterexample arg2", List.of(List.of(COUNTEREXAMPLE, ARG_2))),
                     Arguments.of(text, tokens));
         }
     }
@@ -138,7 +297,27 @@ public class LexicalAnalyzerTest {
                     Arguments.of("!P therefore Q therefore R", UnexpectedSymbolException.class,
                             "Unexpected symbol 'therefore' at position 15 of line '!P therefore Q therefore R'"),
                     Arguments.of("P", UnexpectedEndOfLineException.class,
-                            "Unexpected end of line at line 'P'")
+                            "Unexpected end of line at line 'P'"),
+                    Arguments.of("argument arg1 := P -", UnexpectedCharacterException.class,
+                            "Unexpected character '-' at position 19 of line 'argument arg1 := P -'"),
+                    Arguments.of("argument arg1 := P -< Q", UnexpectedCharacterException.class,
+                            "Unexpected character '<' at position 20 of line 'argument arg1 := P -< Q'"),
+                    Arguments.of("print\"Hello\"", UnexpectedCharacterException.class,
+                            "Unexpected character '\"' at position 5 of line 'print\"Hello\"'"),
+                    Arguments.of("valuate arg1!", UnexpectedCharacterException.class,
+                            "Unexpected character '!' at position 12 of line 'valuate arg1!'"),
+                    Arguments.of("P := #", UnexpectedCharacterException.class,
+                            "Unexpected character '#' at position 5 of line 'P := #'"),
+                    Arguments.of("P := é", UnexpectedCharacterException.class,
+                            "Unexpected character 'é' at position 5 of line 'P := é'"),
+                    Arguments.of("print print", UnexpectedSymbolException.class,
+                            "Unexpected symbol 'print' at position 6 of line 'print print'"),
+                    Arguments.of("true P", UnexpectedSymbolException.class,
+                            "Unexpected symbol 'true' at position 1 of line 'true P'"),
+                    Arguments.of("valuate arg1 arg2", UnexpectedSymbolException.class,
+                            "Unexpected symbol 'arg2' at position 2 of line 'valuate arg1 arg2'"),
+                    Arguments.of("validate", UnexpectedEndOfLineException.class,
+                            "Unexpected end of line at line 'validate'")
             );
         }
     }
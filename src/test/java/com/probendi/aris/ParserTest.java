@@ -1,14 +1,28 @@
 package com.probendi.aris;
 
+import com.probendi.aris.engine.Engine;
 import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.exception.MissingSymbolException;
+import com.probendi.aris.exception.ParserException;
 import com.probendi.aris.formula.*;
 import com.probendi.aris.token.Token;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.probendi.aris.LexicalAnalyzerTest.tokens;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ParserTest {
 
@@ -63,5 +77,64 @@ public class ParserTest {
         final Map<String, Boolean> assertions = Map.of("arg3", true);
         assertEquals(assertions, parser.getAssertions());
     }
-}
 
+    @Test
+    void testParallelParsing() throws ArisException, IOException {
+        // the arguments are redefined and validated many times, hence the output must be printed in order
+        final String script = Files.readString(Path.of("test.txt")).repeat(50);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            final Parser parser = new Parser(Engine.TRUTH_TABLE.create(),
+                    new PrintStream(expected, true, StandardCharsets.UTF_8));
+            parser.parse(new LexicalAnalyzer(new StringReader(script)));
+
+            final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            final Parser parallelParser = new Parser(Engine.TRUTH_TABLE.create(),
+                    new PrintStream(actual, true, StandardCharsets.UTF_8), pool);
+            parallelParser.parse(new LexicalAnalyzer(new StringReader(script)));
+
+            assertEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+            assertEquals(parser.getValidations(), parallelParser.getValidations());
+            assertEquals(parser.getAssertions(), parallelParser.getAssertions());
+            assertEquals(parser.getValuations(), parallelParser.getValuations());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testRepeatedValuation(final boolean bytecode) throws ArisException {
+        // the compiled arguments are reused, but must follow the changes of the values and of the arguments
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final Parser parser = new Parser(Engine.TRUTH_TABLE.create(), new PrintStream(buffer, true, StandardCharsets.UTF_8));
+        parser.setBytecode(bytecode);
+        final String script = String.join("\n", "P := true", "Q := false", "argument a := P, (P → Q) ∴ Q",
+                "valuate a", "Q := true", "valuate a", "valuate a", "argument a := P ∴ ¬Q", "valuate a", "P := false",
+                "argument b := P, R ∴ Q", "valuate b");
+        parser.parse(new LexicalAnalyzer(new StringReader(script)));
+
+        final String expected = String.join(System.lineSeparator(), "argument \"P, (P → Q) ∴ Q\" is false",
+                "argument \"P, (P → Q) ∴ Q\" is true", "argument \"P, (P → Q) ∴ Q\" is true",
+                "argument \"P ∴ ¬Q\" is false", "argument \"P, R ∴ Q\" is false", "");
+        assertEquals(expected, buffer.toString(StandardCharsets.UTF_8));
+
+        assertThrows(MissingSymbolException.class, () -> parser.parse(new LexicalAnalyzer(new StringReader("P := true\nvaluate b"))));
+        assertThrows(ParserException.class, () -> parser.parse(new LexicalAnalyzer(new StringReader("valuate c"))));
+    }
+
+    @Test
+    void testCounterexample() throws ArisException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final Parser parser = new Parser(Engine.TRUTH_TABLE.create(), new PrintStream(buffer, true, StandardCharsets.UTF_8));
+        final String script = String.join("\n", "argument a := (P ∨ Q) ∴ P", "counterexample a",
+                "argument b := P, (P → Q) ∴ Q", "counterexample b", "argument t := (P ∧ ¬Q)", "counterexample t");
+        parser.parse(new LexicalAnalyzer(new StringReader(script)));
+
+        final String expected = String.join(System.lineSeparator(), "argument \"(P ∨ Q) ∴ P\" has counterexample P=false, Q=true",
+                "argument \"P, (P → Q) ∴ Q\" has no counterexample",
+                "argument \"(P ∧ ¬Q)\" has counterexample P=false, Q=false", "");
+        assertEquals(expected, buffer.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package com.probendi.aris;
+
+import com.probendi.aris.engine.Engine;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReplTest {
+
+    @Test
+    void testRun() throws IOException {
+        // an error discards the line, but not the session
+        final String input = String.join("\n", "P := true", "argument a := P ∴ P", "valuate b", "valuate a", "Q :=",
+                "P := false", "valuate a");
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        new Repl(new Session(Engine.TRUTH_TABLE.create()), new BufferedReader(new StringReader(input)),
+                new PrintStream(buffer, true, StandardCharsets.UTF_8)).run();
+
+        final String p = Repl.PROMPT;
+        final String expected = String.join(System.lineSeparator(), p + p + p + "error: Undefined argument b",
+                p + "argument \"P ∴ P\" is true", p + "error: Failed to parse line [Q, :=]",
+                p + p + "argument \"P ∴ P\" is false", p, "");
+        assertEquals(expected, buffer.toString(StandardCharsets.UTF_8));
+    }
+}
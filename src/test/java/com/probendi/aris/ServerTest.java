@@ -0,0 +1,132 @@
+package com.probendi.aris;
+
+import com.probendi.aris.engine.CachingProcedure;
+import com.probendi.aris.engine.Engine;
+import com.probendi.aris.exception.ArisException;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTest {
+
+    @Test
+    void testSession() throws ArisException {
+        final Session session = new Session(Engine.TRUTH_TABLE.create());
+        assertEquals("", session.execute("P := true"));
+        assertEquals("", session.execute(""));
+        assertEquals("", session.execute("argument a := P, ¬(P ∧ ¬Q) ∴ Q"));
+        assertThrows(ArisException.class, () -> session.execute("Q :="));
+        assertEquals("argument \"P, ¬(P ∧ ¬Q) ∴ Q\" is valid" + System.lineSeparator(), session.execute("validate a"));
+        assertEquals(Map.of("P", true), session.getParser().getValues());
+    }
+
+    @Test
+    void testServe() throws IOException {
+        final String script = String.join("\n", "print \".x\"", "print", "P := true", "Q :=",
+                "argument a := P ∴ P", "valuate a");
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final PrintStream out = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+        Server.serve(new Session(Engine.TRUTH_TABLE.create()), new BufferedReader(new StringReader(script)), out);
+
+        final List<String> expected = List.of("..x", ".", "", ".", ".", ".error Failed to parse line [Q, :=]", ".",
+                "argument \"P ∴ P\" is true", ".");
+        assertEquals(expected, buffer.toString(StandardCharsets.UTF_8).lines().toList());
+    }
+
+    @Test
+    void testServer() throws Exception {
+        final CachingProcedure procedure = new CachingProcedure(Engine.BDD.create(), CachingProcedure.DEFAULT_CAPACITY);
+        final Server server = new Server(0, procedure);
+        final CompletableFuture<Void> running;
+        try {
+            running = start(server);
+            try (final Client first = new Client(server.getPort());
+                 final Client second = new Client(server.getPort())) {
+                // the clients' values are isolated, while the cache is shared
+                assertEquals(List.of(), first.send("P := true"));
+                assertEquals(List.of(), second.send("P := false"));
+                assertEquals(List.of(), first.send("argument a := P ∴ P"));
+                assertEquals(List.of(), second.send("argument a := P ∴ P"));
+                assertEquals(List.of("argument \"P ∴ P\" is true"), first.send("valuate a"));
+                assertEquals(List.of("argument \"P ∴ P\" is false"), second.send("valuate a"));
+                assertEquals(List.of("argument \"P ∴ P\" is valid"), first.send("validate a"));
+                assertEquals(List.of("argument \"P ∴ P\" is valid"), second.send("validate a"));
+                assertEquals(1, procedure.getHits());
+                assertThrows(IOException.class, () -> first.send("argument b := P ∴"));
+            }
+        } finally {
+            server.close();
+        }
+        running.get();
+    }
+
+    @Test
+    void testClose() throws Exception {
+        final Server server = new Server(0, Engine.TRUTH_TABLE.create());
+        final CompletableFuture<Void> running;
+        try (final Client client = new Client(server.getPort())) {
+            try {
+                running = start(server);
+                assertEquals(List.of(), client.send("P := true"));
+            } finally {
+                server.close();
+            }
+            running.get();
+            // the connected client is disconnected, rather than served after the server was closed
+            assertThrows(IOException.class, () -> client.send("argument a := P ∴ P"));
+        }
+    }
+
+    private static CompletableFuture<Void> start(final Server server) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                server.run();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static class Client implements Closeable {
+
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintStream out;
+
+        private Client(final int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        private List<String> send(final String line) throws IOException {
+            out.println(line);
+            final List<String> lines = new ArrayList<>();
+            String s;
+            while ((s = in.readLine()) != null) {
+                if (s.equals(Server.OK)) {
+                    return lines;
+                }
+                if (s.startsWith(Server.ERROR)) {
+                    throw new IOException(s.substring(Server.ERROR.length()));
+                }
+                lines.add(s.startsWith("..") ? s.substring(1) : s);
+            }
+            throw new EOFException();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
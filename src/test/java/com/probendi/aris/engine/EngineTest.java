@@ -0,0 +1,244 @@
+package com.probendi.aris.engine;
+
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.formula.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.probendi.aris.formula.ArgumentTest.chain;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EngineTest {
+
+    private static final AtomicCondition P = new AtomicCondition("P");
+    private static final AtomicCondition Q = new AtomicCondition("Q");
+    private static final AtomicCondition R = new AtomicCondition("R");
+    private static final AtomicCondition S = new AtomicCondition("S");
+
+    @ParameterizedTest
+    @EnumSource(Engine.class)
+    void testIsValid(final Engine engine) throws ArisException {
+        final DecisionProcedure procedure = engine.create();
+        // (P → Q), (Q → R) ∴ (P → R)
+        assertTrue(procedure.isValid(new Argument(new Conditional(P, R), new Conditional(P, Q), new Conditional(Q, R))));
+        // (P ∧ ¬Q), (R ∧ ¬S) ∴ (Q ∨ S)
+        assertFalse(procedure.isValid(new Argument(
+                new Disjunction(Q, S), new Conjunction(P, new Negation(Q)), new Conjunction(R, new Negation(S)))));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Engine.class)
+    void testIsTautology(final Engine engine) throws ArisException {
+        final DecisionProcedure procedure = engine.create();
+        final Argument argument = new Argument();
+        argument.addPremise(new Disjunction(P, new Negation(P)));
+        assertTrue(procedure.isTautology(argument));
+
+        final Argument other = new Argument();
+        other.addPremise(new Disjunction(P, new Negation(Q)));
+        assertFalse(procedure.isTautology(other));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Engine.class)
+    void testFindCounterModel(final Engine engine) throws ArisException {
+        final DecisionProcedure procedure = engine.create();
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final Argument argument = new Argument(randomFormula(random, 4), randomFormula(random, 4), randomFormula(random, 4));
+            final Map<String, Boolean> model = procedure.findCounterModel(argument);
+            assertEquals(argument.isValid(), model == null, argument.toString());
+            if (model != null) {
+                for (final WellFormedFormula premise : argument.getPremises()) {
+                    assertTrue(premise.valuate(model), argument.toString());
+                }
+                assertFalse(argument.getConclusion().valuate(model), argument.toString());
+            }
+        }
+    }
+
+    @Test
+    void testSatWithManyAtoms() throws ArisException {
+        // P1 → P2, P2 → P3, ..., P299 → P300 ∴ (P1 → P300)
+        final int n = 300;
+        final Argument argument = chain(n);
+        final DecisionProcedure procedure = Engine.SAT.create();
+        assertTrue(procedure.isValid(argument));
+
+        argument.setConclusion(new Conditional(new AtomicCondition("P" + n), new AtomicCondition("P1")));
+        final Map<String, Boolean> model = procedure.findCounterModel(argument);
+        assertNotNull(model);
+        assertTrue(model.get("P" + n));
+        assertFalse(model.get("P1"));
+    }
+
+    @Test
+    void testParallelWithManyAtoms() throws ArisException {
+        // P1 → P2, P2 → P3, ..., P25 → P26 ∴ (P1 → P26)
+        final int n = 26;
+        final Argument argument = chain(n);
+        try (final ParallelTruthTableProcedure procedure = new ParallelTruthTableProcedure(4)) {
+            assertTrue(procedure.isValid(argument));
+
+            // the first counter-model is found regardless of the order in which the ranges are valuated
+            argument.setConclusion(new Negation(new Conjunction(new AtomicCondition("P" + (n - 1)), new AtomicCondition("P" + n))));
+            assertEquals(Engine.TRUTH_TABLE.create().findCounterModel(argument), procedure.findCounterModel(argument));
+            // whereas any counter-model refutes the argument
+            assertFalse(procedure.isValid(argument));
+        }
+    }
+
+    @Test
+    void testGrayCodeWithManyAtoms() throws ArisException {
+        // P1 → P2, P2 → P3, ..., P19 → P20 ∴ (P1 → P20)
+        final int n = 20;
+        final Argument argument = chain(n);
+        final DecisionProcedure procedure = new GrayCodeProcedure();
+        assertTrue(procedure.isValid(argument));
+
+        argument.setConclusion(new Conditional(new AtomicCondition("P" + n), new AtomicCondition("P1")));
+        final Map<String, Boolean> model = procedure.findCounterModel(argument);
+        assertNotNull(model);
+        assertTrue(model.get("P" + n));
+        assertFalse(model.get("P1"));
+    }
+
+    @Test
+    void testDpllWithManyAtoms() throws ArisException {
+        // P1 → P2, P2 → P3, ..., P299 → P300 ∴ (P1 → P300) is decided without enumerating 2^300 valuations
+        final int n = 300;
+        final Argument argument = chain(n);
+        final DecisionProcedure procedure = new DpllProcedure();
+        assertTrue(procedure.isValid(argument));
+
+        argument.setConclusion(new Conditional(new AtomicCondition("P" + n), new AtomicCondition("P1")));
+        final Map<String, Boolean> model = procedure.findCounterModel(argument);
+        assertNotNull(model);
+        assertTrue(model.get("P" + n));
+        assertFalse(model.get("P1"));
+    }
+
+    @Test
+    void testTableauWithManyAtoms() throws ArisException {
+        // (P1 ∨ Q1), ..., (P200 ∨ Q200), A, (A → B) ∴ B is closed before any disjunction is split
+        final int n = 200;
+        final Argument argument = new Argument();
+        for (int i = 1; i <= n; i++) {
+            argument.addPremise(new Disjunction(new AtomicCondition("P" + i), new AtomicCondition("Q" + i)));
+        }
+        argument.addPremise(new AtomicCondition("A"));
+        argument.addPremise(new Conditional(new AtomicCondition("A"), new AtomicCondition("B")));
+        argument.setConclusion(new AtomicCondition("B"));
+        final DecisionProcedure procedure = new TableauProcedure();
+        assertTrue(procedure.isValid(argument));
+
+        argument.setConclusion(new Conjunction(new AtomicCondition("B"), new AtomicCondition("P" + n)));
+        final Map<String, Boolean> model = procedure.findCounterModel(argument);
+        assertNotNull(model);
+        for (final WellFormedFormula premise : argument.getPremises()) {
+            assertTrue(premise.valuate(model));
+        }
+        assertFalse(argument.getConclusion().valuate(model));
+    }
+
+    @Test
+    void testBddEquivalence() {
+        final BddProcedure procedure = new BddProcedure();
+        // (P → Q) ≡ (¬Q → ¬P) ≡ (¬P ∨ Q)
+        assertTrue(procedure.isEquivalent(new Conditional(P, Q), new Conditional(new Negation(Q), new Negation(P))));
+        assertTrue(procedure.isEquivalent(new Conditional(P, Q), new Disjunction(new Negation(P), Q)));
+        assertFalse(procedure.isEquivalent(new Conditional(P, Q), new Conditional(Q, P)));
+
+        // the nodes are shared, hence building the same formula again does not add any node
+        final int size = procedure.getBdd().size();
+        assertEquals(procedure.getBdd().build(new Conditional(Q, P)), procedure.getBdd().build(new Conditional(Q, P)));
+        assertEquals(size, procedure.getBdd().size());
+    }
+
+    @Test
+    void testSatSolverPigeonhole() {
+        // five pigeons cannot sit in four holes
+        final int pigeons = 5;
+        final int holes = 4;
+        final SatSolver solver = new SatSolver(pigeons * holes);
+        for (int p = 0; p < pigeons; p++) {
+            final int[] clause = new int[holes];
+            for (int h = 0; h < holes; h++) {
+                clause[h] = p * holes + h + 1;
+            }
+            solver.addClause(clause);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p1 = 0; p1 < pigeons; p1++) {
+                for (int p2 = p1 + 1; p2 < pigeons; p2++) {
+                    solver.addClause(-(p1 * holes + h + 1), -(p2 * holes + h + 1));
+                }
+            }
+        }
+        assertFalse(solver.solve());
+    }
+
+    @Test
+    void testCachingProcedure(@TempDir final Path dir) throws ArisException, IOException {
+        final Path file = dir.resolve("cache.txt");
+        // (P → Q), (Q → R) ∴ (P → R)
+        final Argument argument = new Argument(new Conditional(P, R), new Conditional(P, Q), new Conditional(Q, R));
+        // the same argument, whose premises are swapped and repeated
+        final Argument other = new Argument(new Conditional(P, R), new Conditional(Q, R), new Conditional(P, Q),
+                new Conditional(Q, R));
+        assertEquals(CachingProcedure.canonicalForm(argument), CachingProcedure.canonicalForm(other));
+
+        try (final CachingProcedure procedure = new CachingProcedure(Engine.SAT.create(), 1, file)) {
+            assertTrue(procedure.isValid(argument));
+            // the result is appended as soon as it is computed
+            assertEquals(1, Files.readAllLines(file).size());
+            assertTrue(procedure.isValid(other));
+            assertEquals(1, procedure.getHits());
+            assertEquals(1, procedure.getMisses());
+        }
+
+        // the result is read from the file, even if the first run evicted it from memory
+        try (final CachingProcedure procedure = new CachingProcedure(Engine.SAT.create(), 1, file)) {
+            final Argument tautology = new Argument();
+            tautology.addPremise(new Disjunction(P, new Negation(P)));
+            assertTrue(procedure.isTautology(tautology));
+            assertTrue(procedure.isValid(other));
+            assertEquals(1, procedure.getHits());
+            assertEquals(1, procedure.getMisses());
+        }
+        assertEquals(2, Files.readAllLines(file).size());
+
+        // a line left incomplete by a crash is discarded
+        Files.writeString(file, "V 0 (P → Q)", StandardOpenOption.APPEND);
+        try (final CachingProcedure procedure = new CachingProcedure(Engine.SAT.create(), 1, file)) {
+            assertTrue(procedure.isValid(other));
+            assertFalse(procedure.isValid(new Argument(new Conditional(P, Q))));
+            assertEquals(1, procedure.getHits());
+            assertEquals(1, procedure.getMisses());
+        }
+        assertEquals(3, Files.readAllLines(file).size());
+    }
+
+    static WellFormedFormula randomFormula(final Random random, final int depth) {
+        final List<AtomicCondition> atoms = List.of(P, Q, R, S);
+        if (depth == 0 || random.nextInt(4) == 0) {
+            return atoms.get(random.nextInt(atoms.size()));
+        }
+        return switch (random.nextInt(4)) {
+            case 0 -> new Negation(randomFormula(random, depth - 1));
+            case 1 -> new Conjunction(randomFormula(random, depth - 1), randomFormula(random, depth - 1));
+            case 2 -> new Disjunction(randomFormula(random, depth - 1), randomFormula(random, depth - 1));
+            default -> new Conditional(randomFormula(random, depth - 1), randomFormula(random, depth - 1));
+        };
+    }
+}
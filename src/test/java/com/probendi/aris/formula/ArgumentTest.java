@@ -1,15 +1,20 @@
 package com.probendi.aris.formula;
 
 import com.probendi.aris.exception.ArisException;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
+import java.util.*;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ArgumentTest {
 
@@ -29,6 +34,77 @@ public class ArgumentTest {
         assertEquals(expected, argument.isValid());
     }
 
+    @Test
+    void testIsValidWithManyAtoms() throws ArisException {
+        final int n = 24;
+        final Argument argument = chain(n);
+        assertTrue(argument.isValid());
+
+        argument.setConclusion(new Conditional(new AtomicCondition("P" + n), new AtomicCondition("P1")));
+        assertFalse(argument.isValid());
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(ValidateArgumentsProvider.class)
+    void testCounterExamples(final Argument argument, final boolean expected) throws ArisException {
+        // every row of the truth table which makes the premises true and the conclusion false is generated once
+        final List<WellFormedFormula> formulae = new ArrayList<>(argument.getPremises());
+        formulae.add(argument.getConclusion());
+        final List<String> symbols = TruthTable.of(formulae).getSymbols();
+        final Set<Map<String, Boolean>> rows = new HashSet<>();
+        for (int row = 0; row < 1 << symbols.size(); row++) {
+            final Map<String, Boolean> values = new HashMap<>();
+            for (int j = 0; j < symbols.size(); j++) {
+                values.put(symbols.get(j), (row >>> j & 1) == 1);
+            }
+            boolean premises = true;
+            for (final WellFormedFormula premise : argument.getPremises()) {
+                premises &= premise.valuate(values);
+            }
+            if (premises && !argument.getConclusion().valuate(values)) {
+                rows.add(values);
+            }
+        }
+        final Set<Map<String, Boolean>> counterExamples = new HashSet<>();
+        argument.counterExamples().forEachRemaining(m -> assertTrue(counterExamples.add(m)));
+        assertEquals(rows, counterExamples);
+        assertEquals(expected, rows.isEmpty());
+
+        final Map<String, Boolean> first = argument.findCounterExample();
+        assertEquals(expected, first == null);
+        if (first != null) {
+            assertEquals(first, argument.counterExamples().next());
+        }
+    }
+
+    @Test
+    void testCounterExamplesWithManyAtoms() throws ArisException {
+        // P1 → P2, P2 → P3, ..., P23 → P24 ∴ (P24 → P1) is falsified when P1 is false and P24 is true
+        final int n = 24;
+        final Argument argument = chain(n);
+        argument.setConclusion(new Conditional(new AtomicCondition("P" + n), new AtomicCondition("P1")));
+        final Iterator<Map<String, Boolean>> iterator = argument.counterExamples();
+        int count = 0;
+        while (iterator.hasNext()) {
+            final Map<String, Boolean> values = iterator.next();
+            assertFalse(values.get("P1"));
+            assertTrue(values.get("P" + n));
+            count++;
+        }
+        assertEquals(n - 1, count);
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    public static Argument chain(final int n) {
+        // P1 → P2, P2 → P3, ..., Pn-1 → Pn ∴ (P1 → Pn)
+        final Argument argument = new Argument();
+        for (int i = 1; i < n; i++) {
+            argument.addPremise(new Conditional(new AtomicCondition("P" + i), new AtomicCondition("P" + (i + 1))));
+        }
+        argument.setConclusion(new Conditional(new AtomicCondition("P1"), new AtomicCondition("P" + n)));
+        return argument;
+    }
+
     static class ValidateArgumentsProvider implements ArgumentsProvider {
         @Override
         public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
@@ -0,0 +1,141 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.exception.MissingSymbolException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledFormulaTest {
+
+    private static final AtomicCondition P = new AtomicCondition("P");
+    private static final AtomicCondition Q = new AtomicCondition("Q");
+    private static final AtomicCondition R = new AtomicCondition("R");
+
+    @Test
+    void testCompile() throws ArisException {
+        // (¬(P ∧ Q) → (R ∨ P))
+        final CompiledFormula program = CompiledFormula.compile(
+                new Conditional(new Negation(new Conjunction(P, Q)), new Disjunction(R, P)));
+        assertEquals(List.of("P", "Q", "R"), program.getSymbols());
+        assertEquals("P Q ∧ ¬ R P ∨ →", program.toString());
+        assertEquals(3, program.getDepth());
+
+        final CompiledFormula fixed = CompiledFormula.compile(List.of(P, new Negation(Q)), List.of("Q", "P"));
+        assertEquals("P Q ¬ ∧", fixed.toString());
+        assertTrue(fixed.evaluate(new boolean[]{false, true}));
+        assertEquals(0b0100L, fixed.evaluateWord(new long[]{0b1010L, 0b1100L}));
+
+        assertThrows(MissingSymbolException.class, () -> CompiledFormula.compile(List.of(R), List.of("P")));
+    }
+
+    @Test
+    void testEvaluate() throws ArisException {
+        final Random random = new Random(7);
+        final List<AtomicCondition> atoms = List.of(P, Q, R);
+        // the scratch stacks are shared by all the formulae, which are no deeper than six
+        final boolean[] stack = new boolean[6];
+        final long[] wordStack = new long[6];
+        for (int i = 0; i < 100; i++) {
+            final WellFormedFormula wff = randomFormula(random, atoms, 5);
+            final CompiledFormula program = CompiledFormula.compile(List.of(wff), List.of("P", "Q", "R"));
+            final long[] words = {0b10101010L, 0b11001100L, 0b11110000L};
+            final long word = program.evaluateWord(words);
+            assertEquals(word, program.evaluateWord(words, wordStack), wff.toString());
+            for (int row = 0; row < 8; row++) {
+                final Map<String, Boolean> values = new HashMap<>();
+                final boolean[] array = new boolean[3];
+                for (int j = 0; j < 3; j++) {
+                    array[j] = (row >>> j & 1) == 1;
+                    values.put(atoms.get(j).getValue(), array[j]);
+                }
+                final boolean expected = wff.valuate(values);
+                assertEquals(expected, program.evaluate(array), wff.toString());
+                assertEquals(expected, program.evaluate(array, stack), wff.toString());
+                assertEquals(expected, (word >>> row & 1) == 1, wff.toString());
+            }
+        }
+    }
+
+    @Test
+    void testGenerate() {
+        final Random random = new Random(11);
+        final List<AtomicCondition> atoms = List.of(P, Q, R);
+        for (int i = 0; i < 50; i++) {
+            final CompiledFormula program = CompiledFormula.compile(randomFormula(random, atoms, 6));
+            final Evaluator evaluator = EvaluatorGenerator.generate(program);
+            assertNotNull(evaluator);
+            final long[] words = random.longs(program.getSymbols().size()).toArray();
+            assertEquals(program.evaluateWord(words), evaluator.evaluateWord(words, null), program.toString());
+        }
+
+        // the slots beyond 127 are pushed as short integers
+        WellFormedFormula chain = new AtomicCondition("P0");
+        for (int i = 1; i < 200; i++) {
+            chain = new Conditional(new AtomicCondition("P" + i), chain);
+        }
+        final CompiledFormula program = CompiledFormula.compile(chain);
+        final long[] words = random.longs(program.getSymbols().size()).toArray();
+        assertEquals(program.evaluateWord(words), EvaluatorGenerator.generate(program).evaluateWord(words, null));
+
+        // a formula whose translation is too long is not generated
+        WellFormedFormula large = P;
+        for (int i = 0; i < EvaluatorGenerator.MAX_CODE_LENGTH / 3; i++) {
+            large = new Conjunction(large, Q);
+        }
+        assertNull(EvaluatorGenerator.generate(CompiledFormula.compile(large)));
+    }
+
+    @Test
+    void testAdaptiveEvaluator() {
+        // ((P ∧ Q) → ¬(R ∨ (P ∧ ¬Q))) ∧ ((Q → R) ∨ ¬(P ∧ R))
+        final WellFormedFormula wff = new Conjunction(
+                new Conditional(new Conjunction(P, Q), new Negation(new Disjunction(R, new Conjunction(P, new Negation(Q))))),
+                new Disjunction(new Conditional(Q, R), new Negation(new Conjunction(P, R))));
+        final CompiledFormula program = CompiledFormula.compile(wff);
+        final AdaptiveEvaluator evaluator = new AdaptiveEvaluator(program);
+        final long[] words = {0b10101010L, 0b11001100L, 0b11110000L};
+        final long[] stack = new long[program.getDepth()];
+        for (int i = 0; i < AdaptiveEvaluator.THRESHOLD + 8; i++) {
+            assertEquals(program.evaluateWord(words), evaluator.evaluateWord(words, stack));
+        }
+        assertTrue(evaluator.isGenerated());
+
+        final CompiledFormula small = CompiledFormula.compile(new Conjunction(P, Q));
+        final AdaptiveEvaluator smallEvaluator = new AdaptiveEvaluator(small);
+        for (int i = 0; i < AdaptiveEvaluator.THRESHOLD + 8; i++) {
+            smallEvaluator.evaluateWord(words, stack);
+        }
+        assertFalse(smallEvaluator.isGenerated());
+    }
+
+    @Test
+    void testBytecodeTruthTable() throws ArisException {
+        // ¬((P1 ∧ ... ∧ P19) → Q) holds only in the last of 2^14 words, hence it is translated on the way
+        WellFormedFormula antecedent = new AtomicCondition("P1");
+        for (int i = 2; i <= 19; i++) {
+            antecedent = new Conjunction(antecedent, new AtomicCondition("P" + i));
+        }
+        final List<WellFormedFormula> formulae = List.of(new Negation(new Conditional(antecedent, Q)));
+        final Map<String, Boolean> expected = TruthTable.of(formulae).findModel(formulae);
+        assertNotNull(expected);
+        assertEquals(expected, TruthTable.of(formulae, true).findModel(formulae));
+    }
+
+    static WellFormedFormula randomFormula(final Random random, final List<AtomicCondition> atoms, final int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            return atoms.get(random.nextInt(atoms.size()));
+        }
+        return switch (random.nextInt(4)) {
+            case 0 -> new Negation(randomFormula(random, atoms, depth - 1));
+            case 1 -> new Conjunction(randomFormula(random, atoms, depth - 1), randomFormula(random, atoms, depth - 1));
+            case 2 -> new Disjunction(randomFormula(random, atoms, depth - 1), randomFormula(random, atoms, depth - 1));
+            default -> new Conditional(randomFormula(random, atoms, depth - 1), randomFormula(random, atoms, depth - 1));
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.exception.MissingSymbolException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.probendi.aris.formula.CompiledFormulaTest.randomFormula;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormulaNetworkTest {
+
+    private static final AtomicCondition P = new AtomicCondition("P");
+    private static final AtomicCondition Q = new AtomicCondition("Q");
+    private static final AtomicCondition R = new AtomicCondition("R");
+
+    @Test
+    void testNetwork() throws ArisException {
+        // (P ∧ Q) and ¬(P ∧ Q) share the same subformula
+        final FormulaFactory factory = new FormulaFactory();
+        final WellFormedFormula pq = factory.conjunction(factory.atom("P"), factory.atom("Q"));
+        final FormulaNetwork network = new FormulaNetwork(List.of(factory.disjunction(pq, factory.atom("R")),
+                factory.negation(pq)));
+        assertEquals(List.of("P", "Q", "R"), network.getSymbols());
+        assertEquals(7, network.size());
+
+        final Map<String, Boolean> values = new HashMap<>(Map.of("P", true, "Q", true));
+        assertThrows(MissingSymbolException.class, () -> network.valuate(values));
+        values.put("R", true);
+        assertFalse(network.valuate(values));
+        values.put("Q", false);
+        assertTrue(network.valuate(values));
+        values.remove("R");
+        assertThrows(MissingSymbolException.class, () -> network.valuate(values));
+        values.put("R", false);
+        assertFalse(network.valuate(values));
+
+        network.set(0, false);
+        network.set(2, true);
+        assertTrue(network.getValue());
+    }
+
+    @Test
+    void testValuate() throws ArisException {
+        // every valuation after the first one changes a single atom
+        final Random random = new Random(13);
+        final List<AtomicCondition> atoms = List.of(P, Q, R);
+        for (int i = 0; i < 100; i++) {
+            final List<WellFormedFormula> formulae = List.of(randomFormula(random, atoms, 6),
+                    randomFormula(random, atoms, 6));
+            final WellFormedFormula conjunction = new Conjunction(formulae.get(0), formulae.get(1));
+            final FormulaNetwork network = new FormulaNetwork(formulae);
+            final Map<String, Boolean> values = new HashMap<>(Map.of("P", false, "Q", false, "R", false));
+            for (int j = 0; j < 20; j++) {
+                assertEquals(conjunction.valuate(values), network.valuate(values), conjunction.toString());
+                values.compute(atoms.get(random.nextInt(3)).getValue(), (k, v) -> !v);
+            }
+        }
+    }
+}
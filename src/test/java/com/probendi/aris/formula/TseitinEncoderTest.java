@@ -0,0 +1,45 @@
+package com.probendi.aris.formula;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TseitinEncoderTest {
+
+    private static final AtomicCondition P = new AtomicCondition("P");
+    private static final AtomicCondition Q = new AtomicCondition("Q");
+    private static final AtomicCondition R = new AtomicCondition("R");
+
+    @Test
+    void testEncode() {
+        // ((P ∧ Q) ∨ ¬R)
+        final Cnf cnf = TseitinEncoder.encode(List.of(new Disjunction(new Conjunction(P, Q), new Negation(R))));
+        assertEquals(Map.of("P", 3, "Q", 4, "R", 5), cnf.getSymbols());
+        assertEquals(4, cnf.getClauses());
+        assertArrayEquals(new int[]{-1, 2, -5}, cnf.getClause(2));
+        assertEquals("""
+                c P 3
+                c Q 4
+                c R 5
+                p cnf 5 4
+                -2 3 0
+                -2 4 0
+                -1 2 -5 0
+                1 0
+                """, cnf.toString());
+    }
+
+    @Test
+    void testEncodeSplitsConjunctions() {
+        // (P ∧ ¬¬(Q → R))
+        final Cnf cnf = TseitinEncoder.encode(List.of(new Conjunction(P, new Negation(new Negation(new Conditional(Q, R))))));
+        assertEquals(3, cnf.getClauses());
+        assertArrayEquals(new int[]{1}, cnf.getClause(0));
+        assertArrayEquals(new int[]{-2, -3, 4}, cnf.getClause(1));
+        assertArrayEquals(new int[]{2}, cnf.getClause(2));
+    }
+}
@@ -0,0 +1,123 @@
+package com.probendi.aris.formula;
+
+import com.probendi.aris.exception.ArisException;
+import com.probendi.aris.exception.MissingSymbolException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.probendi.aris.formula.CompiledFormulaTest.randomFormula;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValuationTest {
+
+    @Test
+    void testValuation() {
+        final SymbolTable symbols = new SymbolTable();
+        assertEquals(0, symbols.index("P"));
+        assertEquals(1, symbols.index("Q"));
+        assertEquals(0, symbols.index("P"));
+        assertEquals(-1, symbols.indexOf("R"));
+
+        // the bitsets grow beyond the first word
+        final Valuation valuation = new Valuation(symbols);
+        assertTrue(valuation.set("P", true));
+        assertFalse(valuation.set("P", true));
+        assertTrue(valuation.set("P", false));
+        assertTrue(valuation.set(100, true));
+        assertFalse(valuation.isKnown(1));
+        assertTrue(valuation.isKnown(100));
+        assertTrue(valuation.get(100));
+        valuation.clear(100);
+        assertFalse(valuation.isKnown(100));
+        assertTrue(valuation.set("Q", true));
+        assertEquals(Map.of("P", false, "Q", true), valuation.toMap());
+
+        // an atom indexed by another table is looked up by name
+        assertEquals(1, valuation.valueOf(new AtomicCondition("Q", 0)));
+        assertEquals(0, valuation.valueOf(new AtomicCondition("P")));
+        assertEquals(-1, valuation.valueOf(new AtomicCondition("R", 1)));
+    }
+
+    @Test
+    void testValuate() throws ArisException {
+        // the compact valuation agrees with the map, for the atoms of a factory and for the ones without index
+        final Random random = new Random(17);
+        final FormulaFactory factory = new FormulaFactory();
+        final List<AtomicCondition> atoms = new ArrayList<>();
+        for (final String symbol : List.of("P", "Q", "R", "S")) {
+            atoms.add(random.nextBoolean() ? factory.atom(symbol) : new AtomicCondition(symbol));
+        }
+        for (int i = 0; i < 100; i++) {
+            final WellFormedFormula wff = randomFormula(random, atoms, 6);
+            final Map<String, Boolean> values = new HashMap<>();
+            final Valuation valuation = new Valuation(factory.getSymbols());
+            for (final AtomicCondition atom : atoms.subList(0, 3)) {
+                final boolean value = random.nextBoolean();
+                values.put(atom.getValue(), value);
+                valuation.set(atom.getValue(), value);
+            }
+            try {
+                assertEquals(wff.valuate(values), wff.valuate(valuation), wff.toString());
+            } catch (final MissingSymbolException e) {
+                final MissingSymbolException c = assertThrows(MissingSymbolException.class, () -> wff.valuate(valuation));
+                assertEquals(e.getMessage(), c.getMessage());
+            }
+
+            final FormulaNetwork network = new FormulaNetwork(List.of(wff));
+            if (!network.getSymbols().contains("S")) {
+                assertEquals(network.valuate(values), network.valuate(valuation), wff.toString());
+            } else {
+                assertThrows(MissingSymbolException.class, () -> network.valuate(valuation));
+            }
+        }
+    }
+
+    @Test
+    void testValuatePartially() throws ArisException {
+        // a known truth-value is the same in every completion of the partial valuation
+        final Random random = new Random(19);
+        final FormulaFactory factory = new FormulaFactory();
+        final List<AtomicCondition> atoms = List.of(factory.atom("P"), factory.atom("Q"), factory.atom("R"));
+        for (int i = 0; i < 200; i++) {
+            final WellFormedFormula wff = randomFormula(random, atoms, 5);
+            final Valuation partial = new Valuation(factory.getSymbols());
+            for (final AtomicCondition atom : atoms) {
+                if (random.nextBoolean()) {
+                    partial.set(atom.getIndex(), random.nextBoolean());
+                }
+            }
+            final int v = wff.valuatePartially(partial);
+            boolean canBeTrue = false;
+            boolean canBeFalse = false;
+            for (int row = 0; row < 8; row++) {
+                final Valuation values = new Valuation(factory.getSymbols());
+                for (int j = 0; j < 3; j++) {
+                    final int index = atoms.get(j).getIndex();
+                    values.set(index, partial.isKnown(index) ? partial.get(index) : (row >>> j & 1) == 1);
+                }
+                if (wff.valuate(values)) {
+                    canBeTrue = true;
+                } else {
+                    canBeFalse = true;
+                }
+            }
+            if (v == Valuation.TRUE) {
+                assertFalse(canBeFalse, wff.toString());
+            } else if (v == Valuation.FALSE) {
+                assertFalse(canBeTrue, wff.toString());
+            }
+        }
+        final Valuation all = new Valuation(factory.getSymbols());
+        all.set("P", true);
+        all.set("Q", false);
+        all.set("R", true);
+        assertEquals(Valuation.FALSE, new Conjunction(atoms.get(0), atoms.get(1)).valuatePartially(all));
+        assertEquals(Valuation.TRUE, new Conditional(atoms.get(1), new AtomicCondition("S")).valuatePartially(all));
+        assertEquals(Valuation.UNKNOWN, new Disjunction(atoms.get(1), new AtomicCondition("S")).valuatePartially(all));
+    }
+}
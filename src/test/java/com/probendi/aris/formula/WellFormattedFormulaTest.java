@@ -10,14 +10,19 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
+import java.time.Duration;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 public class WellFormattedFormulaTest {
 
@@ -43,6 +48,59 @@ public class WellFormattedFormulaTest {
         assertEquals(expected, wff.valuate(values));
     }
 
+    @ParameterizedTest
+    @ArgumentsSource(WordValuationArgumentsProvider.class)
+    void testWordValuation(final WellFormedFormula wff, final Map<String, Long> words, final long expected) throws ArisException {
+        assertEquals(expected, wff.valuateWord(words));
+    }
+
+    @Test
+    void testCollectSymbols() {
+        final WellFormedFormula wff = new Conditional(new Conjunction(R, NOT_P), new Disjunction(Q, R));
+        assertEquals(List.of("R", "P", "Q"), List.copyOf(WellFormedFormula.collectSymbols(List.of(wff, NOT_Q))));
+
+        // a formula which shares its subformulae has 2^100 paths, but only 101 distinct subformulae
+        final FormulaFactory factory = new FormulaFactory();
+        WellFormedFormula shared = factory.atom("P");
+        for (int i = 0; i < 100; i++) {
+            shared = factory.conjunction(shared, shared);
+        }
+        assertEquals(Set.of("P"), WellFormedFormula.collectSymbols(List.of(shared)));
+    }
+
+    @Test
+    void testDeepConditions() {
+        // every condition is built from the first condition of each subformula, which is generated only once
+        final int[] visits = new int[1];
+        final AtomicCondition leaf = new AtomicCondition("P") {
+            @Override
+            public List<Condition> determineFalsehoodConditions() {
+                visits[0]++;
+                return super.determineFalsehoodConditions();
+            }
+
+            @Override
+            public List<Condition> determineTruthnessConditions() {
+                visits[0]++;
+                return super.determineTruthnessConditions();
+            }
+        };
+        WellFormedFormula wff = leaf;
+        for (int i = 0; i < 100; i++) {
+            wff = new Conditional(new Conjunction(wff, Q), new Disjunction(R, NOT_P));
+        }
+        // the full expansion has exponentially many conditions, hence it cannot be built eagerly
+        final WellFormedFormula deep = wff;
+        final List<Condition> conditions = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                deep::determineTruthnessConditions);
+        assertEquals(3, conditions.size());
+        assertEquals(0, visits[0]);
+        final Condition condition = conditions.get(1);
+        assertEquals(1, visits[0]);
+        assertSame(condition, conditions.get(1));
+        assertEquals(1, visits[0]);
+    }
+
     @Test
     void testMissingSymbolException() {
         final WellFormedFormula wff = new Negation(new AtomicCondition("P"));
@@ -92,6 +150,42 @@ public class WellFormattedFormulaTest {
         assertEquals(wff, WellFormedFormula.parse(tokens));
     }
 
+    @Test
+    void testInterning() throws ArisException {
+        final And AND = new And();
+        final Atom P = new Atom("P");
+        final Atom Q = new Atom("Q");
+        final LBracket L_BRACKET = new LBracket();
+        final Not NOT = new Not();
+        final RBracket R_BRACKET = new RBracket();
+
+        // (¬(P ∧ Q) ∧ ¬(P ∧ Q))
+        final List<Token> line = List.of(
+                L_BRACKET, NOT, L_BRACKET, P, AND, Q, R_BRACKET, AND, NOT, L_BRACKET, P, AND, Q, R_BRACKET, R_BRACKET);
+        final FormulaFactory factory = new FormulaFactory();
+        final Conjunction wff = (Conjunction) WellFormedFormula.parse(new LinkedList<>(line), factory);
+        assertSame(wff.wff1(), wff.wff2());
+        assertSame(wff, WellFormedFormula.parse(new LinkedList<>(line), factory));
+        // P, Q, (P ∧ Q), ¬(P ∧ Q), and the whole formula
+        assertEquals(5, factory.size());
+
+        final WellFormedFormula copy = new Conjunction(
+                new Negation(new Conjunction(new AtomicCondition("P"), new AtomicCondition("Q"))),
+                new Negation(new Conjunction(new AtomicCondition("P"), new AtomicCondition("Q"))));
+        assertEquals(wff, copy);
+        assertEquals(copy, wff);
+        assertEquals(copy.hashCode(), wff.hashCode());
+        assertSame(wff, factory.intern(copy));
+        assertEquals(-1, factory.getId(copy));
+        assertEquals(4, factory.getId(wff));
+
+        // the formulae interned by different factories are compared structurally
+        final WellFormedFormula other = new FormulaFactory().intern(copy);
+        assertEquals(wff, other);
+        assertEquals(-1, factory.getId(other));
+        assertNotEquals(wff.wff1(), factory.negation(factory.atom("P")));
+    }
+
     @ParameterizedTest
     @ArgumentsSource(ValidateTautologyProvider.class)
     void testIsTautology(final WellFormedFormula wff, final boolean expected) {
@@ -113,6 +207,20 @@ public class WellFormattedFormulaTest {
         }
     }
 
+    static class WordValuationArgumentsProvider implements ArgumentsProvider {
+
+        @Override
+        public Stream<? extends Arguments> provideArguments(final ExtensionContext context) {
+            return Stream.of(
+                    Arguments.of(NOT_P, Map.of("P", 0b1100L), ~0b1100L),
+                    Arguments.of(new Conjunction(P, Q), Map.of("P", 0b1100L, "Q", 0b1010L), 0b1000L),
+                    Arguments.of(new Disjunction(P, Q), Map.of("P", 0b1100L, "Q", 0b1010L), 0b1110L),
+                    Arguments.of(new Conditional(P, Q), Map.of("P", 0b1100L, "Q", 0b1010L), ~0b0100L),
+                    Arguments.of(DIS_NOT_P_NOT_Q, Map.of("P", 0b1100L, "Q", 0b1010L), ~0b1000L)
+            );
+        }
+    }
+
     static class DetermineTruthConditionsArgumentsProvider implements ArgumentsProvider {
 
         private static final AtomicCondition P = new AtomicCondition("P");